@@ -281,6 +281,26 @@ public final class ModOptions {
 		@LangKey(general.PREFIX + ".ChunkCaching")
 		@Comment("Enable/disable client side chunk caching (performance)")
 		public static boolean enableClientChunkCaching = true;
+
+		@Option("Enable Block State Cache")
+		@DefaultValue("true")
+		@LangKey(general.PREFIX + ".StateCache")
+		@Comment("Enable/disable caching of resolved block state data on disk to speed up startup")
+		public static boolean enableStateCache = true;
+
+		@Option("Environment Check Interval")
+		@DefaultValue("10")
+		@LangKey(general.PREFIX + ".EnvCheckInterval")
+		@Comment("Number of ticks between server side checks of a player's environment (village, etc.)")
+		@RangeInt(min = 1, max = 100)
+		public static int environmentCheckInterval = 10;
+
+		@Option("Environment Resync Interval")
+		@DefaultValue("200")
+		@LangKey(general.PREFIX + ".EnvResyncInterval")
+		@Comment("Number of ticks after which a player's environment is sent again even if it did not change")
+		@RangeInt(min = 20, max = 6000)
+		public static int environmentResyncInterval = 200;
 	}
 
 	public static final String CATEGORY_AURORA = "aurora";
@@ -358,6 +378,12 @@ public final class ModOptions {
 		@Comment("Block radius/range around player for special effect application")
 		public static int specialEffectRange = 24;
 
+		@Option("Parallel Block Scanning")
+		@DefaultValue("true")
+		@LangKey(effects.PREFIX + ".ParallelScan")
+		@Comment("Scan for area block effects on worker threads rather than all on the client thread")
+		public static boolean enableParallelScan = true;
+
 		@Option("Disable Water Suspend Particles")
 		@DefaultValue("false")
 		@LangKey(effects.PREFIX + ".Suspend")
@@ -575,6 +601,13 @@ public final class ModOptions {
 		@Comment("Enable/disable rain puddle sound when moving in the rain")
 		public static boolean enablePuddleSound = true;
 
+		@Option("Audibility Threshold")
+		@DefaultValue("0.01")
+		@LangKey(sound.PREFIX + ".AudibilityThreshold")
+		@RangeFloat(min = 0F, max = 1F)
+		@Comment("Sounds estimated to be quieter than this at the player are not played (0 to disable)")
+		public static float audibilityThreshold = 0.01F;
+
 		@Option("Sound Culling Threshold")
 		@DefaultValue("20")
 		@LangKey(sound.PREFIX + ".CullInterval")
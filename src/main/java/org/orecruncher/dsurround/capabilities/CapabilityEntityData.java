@@ -28,6 +28,7 @@ import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.ModInfo;
 import org.orecruncher.dsurround.capabilities.entitydata.EntityData;
+import org.orecruncher.dsurround.capabilities.entitydata.EntityDataSync;
 import org.orecruncher.dsurround.capabilities.entitydata.EntityDataTables;
 import org.orecruncher.dsurround.capabilities.entitydata.IEntityData;
 import org.orecruncher.dsurround.capabilities.entitydata.IEntityDataSettable;
@@ -48,12 +49,18 @@ import net.minecraftforge.common.capabilities.CapabilityManager;
 import net.minecraftforge.common.capabilities.ICapabilityProvider;
 import net.minecraftforge.event.AttachCapabilitiesEvent;
 import net.minecraftforge.event.entity.living.LivingEvent.LivingUpdateEvent;
+import net.minecraftforge.event.entity.living.LivingSetAttackTargetEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 
 public final class CapabilityEntityData {
 
+	// Fallback assessment for changes the task monitor does not catch
+	private static final int POLL_INTERVAL = 40;
+
 	@CapabilityInject(IEntityData.class)
 	public static final Capability<IEntityData> ENTITY_DATA = null;
 	public static final ResourceLocation CAPABILITY_ID = new ResourceLocation(ModInfo.MOD_ID, "data");
@@ -100,22 +107,46 @@ public final class CapabilityEntityData {
 		}
 
 		/*
-		 * Called when an entity is being updated. Need to evaluate new states.
+		 * Called when an entity is being updated. The entity is assessed when its
+		 * executing AI tasks change, when its attack target changes, or every so
+		 * often as a fallback.
 		 */
 		@SubscribeEvent(receiveCanceled = false)
 		public static void livingUpdate(@Nonnull final LivingUpdateEvent event) {
 			final Entity entity = event.getEntity();
 			final World world = entity.getEntityWorld();
-			// Don't tick if this is the client thread. We only check 4 times a
-			// second as if that is enough :)
-			if (world.isRemote || (entity.ticksExisted % 5) != 0)
+			// Don't tick if this is the client thread.
+			if (world.isRemote || !(entity instanceof EntityLiving))
 				return;
-			final IEntityDataSettable data = (IEntityDataSettable) getCapability(event.getEntity());
+			final IEntityDataSettable data = (IEntityDataSettable) getCapability(entity);
 			if (data != null) {
-				EntityDataTables.assess(data);
-				data.sync();
+				final int changes = EntityDataTables.getTaskChanges((EntityLiving) entity);
+				if (data.assessmentDue(changes) || (entity.ticksExisted % POLL_INTERVAL) == 0) {
+					EntityDataTables.assess(data);
+					data.sync();
+				}
 			}
 		}
+
+		@SubscribeEvent
+		public static void attackTarget(@Nonnull final LivingSetAttackTargetEvent event) {
+			final Entity entity = event.getEntity();
+			if (entity.getEntityWorld().isRemote)
+				return;
+			final IEntityDataSettable data = (IEntityDataSettable) getCapability(entity);
+			if (data != null)
+				data.requestAssessment();
+		}
+
+		/*
+		 * Sends the entity data that changed this tick to the players tracking
+		 * the entities.
+		 */
+		@SubscribeEvent
+		public static void serverTick(@Nonnull final TickEvent.ServerTickEvent event) {
+			if (event.phase == Phase.END)
+				EntityDataSync.flush();
+		}
 	}
 
 }
@@ -26,9 +26,6 @@ package org.orecruncher.dsurround.capabilities.entitydata;
 
 import javax.annotation.Nonnull;
 
-import org.orecruncher.dsurround.network.Network;
-import org.orecruncher.dsurround.network.PacketEntityData;
-
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.nbt.NBTTagCompound;
 
@@ -40,6 +37,8 @@ public final class EntityData implements IEntityDataSettable {
 	private boolean isAttacking;
 	private boolean isFleeing;
 	private boolean sync;
+	private boolean assess = true;
+	private int taskChanges;
 
 	public EntityData() {
 		this.entity = null;
@@ -86,6 +85,21 @@ public final class EntityData implements IEntityDataSettable {
 		return this.sync;
 	}
 
+	@Override
+	public void requestAssessment() {
+		this.assess = true;
+	}
+
+	@Override
+	public boolean assessmentDue(final int taskChanges) {
+		if (this.assess || this.taskChanges != taskChanges) {
+			this.assess = false;
+			this.taskChanges = taskChanges;
+			return true;
+		}
+		return false;
+	}
+
 	private void clearSync() {
 		this.sync = false;
 	}
@@ -93,7 +107,7 @@ public final class EntityData implements IEntityDataSettable {
 	@Override
 	public void sync() {
 		if (needsSync() && this.entity != null && !this.entity.getEntityWorld().isRemote) {
-			Network.sendToEntityViewers(this.entity, new PacketEntityData(this));
+			EntityDataSync.queue(this);
 			clearSync();
 		}
 	}
@@ -0,0 +1,98 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.capabilities.entitydata;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.network.Network;
+import org.orecruncher.dsurround.network.PacketEntityData;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.player.EntityPlayerMP;
+
+/**
+ * Collects the entity data that changed during a server tick and sends it to
+ * the players tracking those entities, one packet per player.
+ */
+public final class EntityDataSync {
+
+	// Keeps a packet well within the limits of a custom payload
+	private static final int MAX_BATCH = 1024;
+
+	private static final ReferenceLinkedOpenHashSet<IEntityData> pending = new ReferenceLinkedOpenHashSet<>();
+	private static final Reference2ObjectOpenHashMap<EntityPlayerMP, ObjectArrayList<IEntityData>> batches = new Reference2ObjectOpenHashMap<>();
+
+	private EntityDataSync() {
+
+	}
+
+	static void queue(@Nonnull final IEntityData data) {
+		pending.add(data);
+	}
+
+	/**
+	 * Sends the queued updates. Called at the end of the server tick.
+	 */
+	public static void flush() {
+		if (pending.isEmpty())
+			return;
+
+		for (final IEntityData data : pending) {
+			final EntityLiving entity = ((IEntityDataSettable) data).getEntity();
+			if (entity == null || entity.isDead)
+				continue;
+			final List<EntityPlayerMP> players = Network.getEntityViewers(entity);
+			for (int i = 0; i < players.size(); i++) {
+				final EntityPlayerMP player = players.get(i);
+				ObjectArrayList<IEntityData> batch = batches.get(player);
+				if (batch == null)
+					batches.put(player, batch = new ObjectArrayList<>());
+				batch.add(data);
+			}
+		}
+		pending.clear();
+
+		batches.forEach((player, batch) -> {
+			for (int start = 0; start < batch.size(); start += MAX_BATCH) {
+				final int end = Math.min(batch.size(), start + MAX_BATCH);
+				Network.sendToPlayer(player, new PacketEntityData(batch.subList(start, end)));
+			}
+		});
+		batches.clear();
+	}
+
+	/**
+	 * Drops anything queued. Used when the server stops.
+	 */
+	public static void clear() {
+		pending.clear();
+		batches.clear();
+	}
+}
@@ -24,16 +24,13 @@
 
 package org.orecruncher.dsurround.capabilities.entitydata;
 
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
-
 import javax.annotation.Nonnull;
 
-import org.orecruncher.lib.ReflectedField.ObjectField;
+import org.orecruncher.dsurround.mixins.IEntityAITasksMixin;
 
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.ai.EntityAIAttackMelee;
 import net.minecraft.entity.ai.EntityAIAttackRanged;
@@ -49,7 +46,6 @@ import net.minecraft.entity.ai.EntityAIOcelotAttack;
 import net.minecraft.entity.ai.EntityAIOwnerHurtByTarget;
 import net.minecraft.entity.ai.EntityAIPanic;
 import net.minecraft.entity.ai.EntityAIRunAroundLikeCrazy;
-import net.minecraft.entity.ai.EntityAITasks;
 import net.minecraft.entity.ai.EntityAITasks.EntityAITaskEntry;
 import net.minecraft.entity.ai.EntityAIZombieAttack;
 import net.minecraft.entity.monster.EntityBlaze;
@@ -69,37 +65,36 @@ import net.minecraft.entity.passive.EntityWolf;
 
 public final class EntityDataTables {
 
-	//formatter:off
-	private static final ObjectField<EntityAITasks, Set<EntityAITasks.EntityAITaskEntry>> executingTasks = new ObjectField<>(
-			EntityAITasks.class,
-			"executingTaskEntries",
-			"field_75780_b"
-		);
-	//formatter:on
-	
-	// Describes the type of EntityAIBase task instance
-	private enum TaskType {
-		//@formatter:off
-		None,
-		Attack,
-		Flee
-		//@formatter:on
-	}
+	// Describes the type of EntityAIBase task instance.  Values are bits so the
+	// tasks an entity is executing can be folded into a single mask.
+	private static final int NONE = 0;
+	private static final int ATTACK = 1;
+	private static final int FLEE = 2;
 
-	// Class types mapped to a TaskType
-	private final static Map<Class<?>, TaskType> AI_TASKS = new Reference2ObjectOpenHashMap<>(128);
+	// Seed class types mapped to a task type. Used for the inheritance search.
+	private final static Reference2IntOpenHashMap<Class<?>> AI_TASKS = new Reference2IntOpenHashMap<>(32);
+
+	// Resolved task type for every AI class seen, including those that do not
+	// matter.
+	private final static Reference2IntOpenHashMap<Class<?>> RESOLVED = new Reference2IntOpenHashMap<>(128);
 
 	// Name mappings to types. Need this because some of the AI task classes are not
 	// accessible
 	// to Dynamic Surroundings. I'm looking at you Eclipse Open J9...
-	private final static Map<String, TaskType> MAPPINGS = new Object2ObjectOpenHashMap<>();
+	private final static Object2IntOpenHashMap<String> MAPPINGS = new Object2IntOpenHashMap<>();
+
+	static {
+		RESOLVED.defaultReturnValue(-1);
+		MAPPINGS.defaultReturnValue(NONE);
+	}
 
-	private static void add(@Nonnull final Class<?> clazz, @Nonnull TaskType ct) {
+	private static void add(@Nonnull final Class<?> clazz, final int ct) {
 		AI_TASKS.put(clazz, ct);
+		RESOLVED.put(clazz, ct);
 	}
 
 	@Nonnull
-	private static void add(@Nonnull final Class<? extends EntityLiving> clazz, @Nonnull final TaskType ct,
+	private static void add(@Nonnull final Class<? extends EntityLiving> clazz, final int ct,
 			@Nonnull final String... className) {
 		for (final String cn : className) {
 			final String name = resolveName(clazz) + "$" + cn;
@@ -115,31 +110,25 @@ public final class EntityDataTables {
 		return i > 0 ? n.substring(i + 1) : n;
 	}
 
-	@Nonnull
-	private static TaskType find(@Nonnull final EntityAIBase aiTask) {
+	private static int find(@Nonnull final EntityAIBase aiTask) {
 		final Class<?> clazz = aiTask.getClass();
-		TaskType ct = AI_TASKS.get(clazz);
-		if (ct == null) {
+		int ct = RESOLVED.getInt(clazz);
+		if (ct < 0) {
 			// Find a match by inheritance
-			for (final Entry<Class<?>, TaskType> kvp : AI_TASKS.entrySet()) {
+			for (final Reference2IntMap.Entry<Class<?>> kvp : AI_TASKS.reference2IntEntrySet()) {
 				if (kvp.getKey().isInstance(aiTask)) {
-					ct = kvp.getValue();
+					ct = kvp.getIntValue();
 					break;
 				}
 			}
 
-			// If we can't find by inheritance look in name mappings
-			if (ct == null) {
-				final String name = resolveName(clazz);
-				ct = MAPPINGS.get(name);
-				if (ct == null) {
-					// Not something we are interested in
-					ct = TaskType.None;
-				}
-			}
+			// If we can't find by inheritance look in name mappings. Not
+			// found means it is not something we are interested in.
+			if (ct < 0)
+				ct = MAPPINGS.getInt(resolveName(clazz));
 
 			// Stick it in the map so we don't have to repeat
-			AI_TASKS.put(clazz, ct);
+			RESOLVED.put(clazz, ct);
 		}
 
 		return ct;
@@ -147,78 +136,76 @@ public final class EntityDataTables {
 
 	static {
 		// General/generic AI tasks
-		add(EntityAIAttackMelee.class, TaskType.Attack);
-		add(EntityAIAttackRanged.class, TaskType.Attack);
-		add(EntityAIAttackRangedBow.class, TaskType.Attack);
-		add(EntityAICreeperSwell.class, TaskType.Attack);
-		add(EntityAILeapAtTarget.class, TaskType.Attack);
-		add(EntityAIOcelotAttack.class, TaskType.Attack);
-		add(EntityAIOwnerHurtByTarget.class, TaskType.Attack);
-		add(EntityAIZombieAttack.class, TaskType.Attack);
-		add(EntityAINearestAttackableTarget.class, TaskType.Attack);
-		add(EntitySpellcasterIllager.AICastingApell.class, TaskType.Attack);
-		add(EntitySpellcasterIllager.AIUseSpell.class, TaskType.Attack);
-		add(EntityAIAvoidEntity.class, TaskType.Flee);
-		add(EntityAIFleeSun.class, TaskType.Flee);
-		add(EntityAIHurtByTarget.class, TaskType.Flee);
-		add(EntityAIPanic.class, TaskType.Flee);
-		add(EntityAIRunAroundLikeCrazy.class, TaskType.Flee);
+		add(EntityAIAttackMelee.class, ATTACK);
+		add(EntityAIAttackRanged.class, ATTACK);
+		add(EntityAIAttackRangedBow.class, ATTACK);
+		add(EntityAICreeperSwell.class, ATTACK);
+		add(EntityAILeapAtTarget.class, ATTACK);
+		add(EntityAIOcelotAttack.class, ATTACK);
+		add(EntityAIOwnerHurtByTarget.class, ATTACK);
+		add(EntityAIZombieAttack.class, ATTACK);
+		add(EntityAINearestAttackableTarget.class, ATTACK);
+		add(EntitySpellcasterIllager.AICastingApell.class, ATTACK);
+		add(EntitySpellcasterIllager.AIUseSpell.class, ATTACK);
+		add(EntityAIAvoidEntity.class, FLEE);
+		add(EntityAIFleeSun.class, FLEE);
+		add(EntityAIHurtByTarget.class, FLEE);
+		add(EntityAIPanic.class, FLEE);
+		add(EntityAIRunAroundLikeCrazy.class, FLEE);
 
 		// Specials because they are inaccessible inner classes. Have to take into
 		// account
 		// obsfucation.
-		add(EntityRabbit.class, TaskType.Attack, "AIEvilAttack", "a");
-		add(EntityRabbit.class, TaskType.Flee, "AIAvoidEntity", "b");
-		add(EntityRabbit.class, TaskType.Flee, "AIPanic", "f");
-
-		add(EntityPolarBear.class, TaskType.Attack, "AIMeleeAttack", "d");
-		add(EntityPolarBear.class, TaskType.Attack, "AIAttackPlayer", "a");
-		add(EntityPolarBear.class, TaskType.Flee, "AIPanic", "e");
-
-		add(EntityShulker.class, TaskType.Attack, "AIAttack", "a");
-		add(EntityShulker.class, TaskType.Attack, "AIDefenseAttack", "c");
-		add(EntityShulker.class, TaskType.Attack, "AIAttackNearest", "d");
-
-		add(EntityEvoker.class, TaskType.Attack, "AICastingSpell", "b");
-		add(EntityEvoker.class, TaskType.Attack, "AISummonSpell", "c");
-		add(EntityEvoker.class, TaskType.Attack, "AIAttackSpell", "a");
-		add(EntityEvoker.class, TaskType.Attack, "AIWololoSpell", "d");
-
-		add(EntityEnderman.class, TaskType.Attack, "AIFindPlayer", "b");
-		add(EntityGhast.class, TaskType.Attack, "AIFireballAttack", "c");
-		add(EntityGuardian.class, TaskType.Attack, "AIGuardianAttack", "a");
-		add(EntitySlime.class, TaskType.Attack, "AISlimeAttack", "a");
-		add(EntitySpider.class, TaskType.Attack, "AISpiderAttack", "a");
-		add(EntityBlaze.class, TaskType.Attack, "AIFireballAttack", "a");
-		add(EntityVex.class, TaskType.Attack, "AIChargeAttack", "a");
-		add(EntityVindicator.class, TaskType.Attack, "AIJohnnyAttack", "a");
-		add(EntityWolf.class, TaskType.Flee, "AIAvoidEntity", "a");
+		add(EntityRabbit.class, ATTACK, "AIEvilAttack", "a");
+		add(EntityRabbit.class, FLEE, "AIAvoidEntity", "b");
+		add(EntityRabbit.class, FLEE, "AIPanic", "f");
+
+		add(EntityPolarBear.class, ATTACK, "AIMeleeAttack", "d");
+		add(EntityPolarBear.class, ATTACK, "AIAttackPlayer", "a");
+		add(EntityPolarBear.class, FLEE, "AIPanic", "e");
+
+		add(EntityShulker.class, ATTACK, "AIAttack", "a");
+		add(EntityShulker.class, ATTACK, "AIDefenseAttack", "c");
+		add(EntityShulker.class, ATTACK, "AIAttackNearest", "d");
+
+		add(EntityEvoker.class, ATTACK, "AICastingSpell", "b");
+		add(EntityEvoker.class, ATTACK, "AISummonSpell", "c");
+		add(EntityEvoker.class, ATTACK, "AIAttackSpell", "a");
+		add(EntityEvoker.class, ATTACK, "AIWololoSpell", "d");
+
+		add(EntityEnderman.class, ATTACK, "AIFindPlayer", "b");
+		add(EntityGhast.class, ATTACK, "AIFireballAttack", "c");
+		add(EntityGuardian.class, ATTACK, "AIGuardianAttack", "a");
+		add(EntitySlime.class, ATTACK, "AISlimeAttack", "a");
+		add(EntitySpider.class, ATTACK, "AISpiderAttack", "a");
+		add(EntityBlaze.class, ATTACK, "AIFireballAttack", "a");
+		add(EntityVex.class, ATTACK, "AIChargeAttack", "a");
+		add(EntityVindicator.class, ATTACK, "AIJohnnyAttack", "a");
+		add(EntityWolf.class, FLEE, "AIAvoidEntity", "a");
 	}
 
-	@Nonnull
-	private static boolean eval(@Nonnull final EntityLiving entity, @Nonnull TaskType desiredType) {
-
-		
-		for (final EntityAITaskEntry task : executingTasks.get(entity.tasks)) {
-			if (find(task.action) == desiredType)
-				return true;
-		}
-
-		for (final EntityAITaskEntry task : executingTasks.get(entity.targetTasks)) {
-			if (find(task.action) == desiredType)
-				return true;
-		}
+	private static int eval(@Nonnull final EntityLiving entity) {
+		int mask = NONE;
+		for (final EntityAITaskEntry task : ((IEntityAITasksMixin) entity.tasks).getExecutingTaskEntries())
+			mask |= find(task.action);
+		for (final EntityAITaskEntry task : ((IEntityAITasksMixin) entity.targetTasks).getExecutingTaskEntries())
+			mask |= find(task.action);
+		return mask;
+	}
 
-		return false;
+	/**
+	 * Number of AI task starts and stops the entity has had. If it differs from
+	 * the last value seen, the tasks the entity is executing have changed.
+	 */
+	public static int getTaskChanges(@Nonnull final EntityLiving entity) {
+		return ((ITaskMonitor) entity.tasks).getTaskChanges() + ((ITaskMonitor) entity.targetTasks).getTaskChanges();
 	}
 
 	@Nonnull
 	public static void assess(@Nonnull final IEntityDataSettable data) {
-		final EntityLiving entity = data.getEntity();
-		final boolean isAttacking = eval(entity, TaskType.Attack);
-		final boolean isFleeing = eval(entity, TaskType.Flee);
-		data.setAttacking(isAttacking);
-		data.setFleeing(isFleeing);
+		final int mask = eval(data.getEntity());
+		data.setAttacking((mask & ATTACK) != 0);
+		data.setFleeing((mask & FLEE) != 0);
 	}
 
 }
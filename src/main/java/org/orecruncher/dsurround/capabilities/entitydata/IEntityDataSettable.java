@@ -36,5 +36,16 @@ public interface IEntityDataSettable extends IEntityData {
 
 	boolean needsSync();
 
+	/**
+	 * Flags the entity for assessment on its next update.
+	 */
+	void requestAssessment();
+
+	/**
+	 * Indicates whether the entity needs to be assessed, either because it was
+	 * requested or because its executing AI tasks changed since the last time.
+	 */
+	boolean assessmentDue(final int taskChanges);
+
 	void sync();
 }
@@ -31,7 +31,6 @@ import org.orecruncher.dsurround.registry.acoustics.AcousticRegistry;
 import org.orecruncher.dsurround.registry.acoustics.IAcoustic;
 import org.orecruncher.dsurround.registry.footstep.BlockMap;
 import org.orecruncher.dsurround.registry.footstep.Substrate;
-import org.orecruncher.lib.MyUtils;
 import org.orecruncher.lib.math.MathStuff;
 
 import net.minecraft.block.state.IBlockState;
@@ -39,36 +38,41 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.IBlockAccess;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Figures out the acoustics for a foot strike. An instance is intended to be
+ * reused by a generator from step to step; the probing is done with a mutable
+ * position and the result is placed in an Association supplied by the caller.
+ */
 @SideOnly(Side.CLIENT)
 public class AcousticResolver {
 
 	protected final IBlockState airState = Blocks.AIR.getDefaultState();
-	protected final IBlockAccess world;
 	protected final BlockMap blockMap;
-	protected final FootStrikeLocation loc;
 	protected final double distanceToCenter;
 
 	protected final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
 
-	public AcousticResolver(@Nonnull final IBlockAccess world, @Nonnull final BlockMap map,
-			@Nonnull final FootStrikeLocation loc, final double distanceToCenter) {
-		this.world = world;
+	// State for the current resolution
+	protected IBlockAccess world;
+	protected FootStrikeLocation loc;
+	protected Association result;
+
+	public AcousticResolver(@Nonnull final BlockMap map, final double distanceToCenter) {
 		this.blockMap = map;
-		this.loc = loc;
 		this.distanceToCenter = distanceToCenter;
 	}
 
-	protected IBlockState getBlockStateFacade(@Nonnull final Vec3d pos) {
-		return FacadeHelper.resolveState(this.loc.getEntity(), getBlockState(pos), this.world, pos, EnumFacing.UP);
+	protected IBlockState getBlockStateFacade(final double x, final double y, final double z) {
+		return FacadeHelper.resolveState(this.loc.getEntity(), getBlockState(x, y, z), this.world, x, y, z,
+				EnumFacing.UP);
 	}
 
-	protected IBlockState getBlockState(@Nonnull final Vec3d pos) {
-		return this.world.getBlockState(new BlockPos(pos));
+	protected IBlockState getBlockState(final double x, final double y, final double z) {
+		return this.world.getBlockState(this.mutable.setPos(x, y, z));
 	}
 
 	/**
@@ -77,84 +81,96 @@ public class AcousticResolver {
 	 * the player is walking on the edge of a block when walking over non-emitting
 	 * blocks like air or water)
 	 *
-	 * Returns null if no blocks are valid emitting blocks. Returns a string that
-	 * begins with "_NO_ASSOCIATION" if a matching block was found, but has no
-	 * association in the blockmap.
+	 * Returns null if no blocks are valid emitting blocks. Otherwise the result
+	 * object passed in is filled out and returned.
 	 */
 	@Nullable
-	public Association findAssociationForEvent() {
-
-		final Vec3d pos = this.loc.getStrikePosition();
-
-		Association worked = resolve(pos);
-
-		// If it didn't work, the player has walked over the air on the border
-		// of a block.
-		// ------ ------ --> z
-		// | o | < player is here
-		// wool | air |
-		// ------ ------
-		// |
-		// V z
-		if (worked == null) {
-			// Create a trigo. mark contained inside the block the player is
-			// over
-			final EntityLivingBase entity = this.loc.getEntity();
-			final BlockPos adj = new BlockPos(pos);
-			final double xdang = (entity.posX - adj.getX()) * 2 - 1;
-			final double zdang = (entity.posZ - adj.getZ()) * 2 - 1;
-			// -1 0 1
-			// ------- -1
-			// | o |
-			// | + | 0 --> x
-			// | |
-			// ------- 1
-			// |
-			// V z
+	public Association findAssociationForEvent(@Nonnull final IBlockAccess world,
+			@Nonnull final FootStrikeLocation loc, @Nonnull final Association result) {
 
-			// If the player is at the edge of that
-			if (Math.max(MathStuff.abs(xdang), MathStuff.abs(zdang)) > this.distanceToCenter) {
-				// Find the maximum absolute value of X or Z
-				final boolean isXdangMax = MathStuff.abs(xdang) > MathStuff.abs(zdang);
-				// --------------------- ^ maxofZ-
-				// | . . |
-				// | . . |
-				// | o . . |
-				// | . . |
-				// | . |
-				// < maxofX- maxofX+ >
-				// Take the maximum border to produce the sound
-				if (isXdangMax) {
-					// If we are in the positive border, add 1,
-					// else subtract 1
-					worked = resolve(xdang > 0 ? this.loc.east() : this.loc.west());
-				} else {
-					worked = resolve(zdang > 0 ? this.loc.south() : this.loc.north());
-				}
+		this.world = world;
+		this.loc = loc;
+		this.result = result;
+
+		try {
+			final double x = loc.getX();
+			final double y = loc.getY();
+			final double z = loc.getZ();
 
-				// If that didn't work, then maybe the footstep hit in the
-				// direction of walking. Try with the other closest block
-				if (worked == null) {
-					// Take the maximum direction and try with
-					// the orthogonal direction of it
+			Association worked = resolve(x, y, z);
+
+			// If it didn't work, the player has walked over the air on the border
+			// of a block.
+			// ------ ------ --> z
+			// | o | < player is here
+			// wool | air |
+			// ------ ------
+			// |
+			// V z
+			if (worked == null) {
+				// Create a trigo. mark contained inside the block the player is
+				// over
+				final EntityLivingBase entity = loc.getEntity();
+				final double xdang = (entity.posX - MathStuff.floor(x)) * 2 - 1;
+				final double zdang = (entity.posZ - MathStuff.floor(z)) * 2 - 1;
+				// -1 0 1
+				// ------- -1
+				// | o |
+				// | + | 0 --> x
+				// | |
+				// ------- 1
+				// |
+				// V z
+
+				// If the player is at the edge of that
+				if (Math.max(MathStuff.abs(xdang), MathStuff.abs(zdang)) > this.distanceToCenter) {
+					// Find the maximum absolute value of X or Z
+					final boolean isXdangMax = MathStuff.abs(xdang) > MathStuff.abs(zdang);
+					// --------------------- ^ maxofZ-
+					// | . . |
+					// | . . |
+					// | o . . |
+					// | . . |
+					// | . |
+					// < maxofX- maxofX+ >
+					// Take the maximum border to produce the sound
 					if (isXdangMax) {
-						worked = resolve(zdang > 0 ? this.loc.south() : this.loc.north());
+						// If we are in the positive border, add 1,
+						// else subtract 1
+						worked = resolve(x + (xdang > 0 ? 1 : -1), y, z);
 					} else {
-						worked = resolve(xdang > 0 ? this.loc.east() : this.loc.west());
+						worked = resolve(x, y, z + (zdang > 0 ? 1 : -1));
+					}
+
+					// If that didn't work, then maybe the footstep hit in the
+					// direction of walking. Try with the other closest block
+					if (worked == null) {
+						// Take the maximum direction and try with
+						// the orthogonal direction of it
+						if (isXdangMax) {
+							worked = resolve(x, y, z + (zdang > 0 ? 1 : -1));
+						} else {
+							worked = resolve(x + (xdang > 0 ? 1 : -1), y, z);
+						}
 					}
 				}
 			}
+			return worked;
+		} finally {
+			this.world = null;
+			this.loc = null;
+			this.result = null;
 		}
-		return worked;
 	}
 
 	@Nullable
-	protected Association resolve(@Nonnull Vec3d vec) {
+	protected Association resolve(final double x, final double y, final double z) {
 		IBlockState in = null;
 		IAcoustic[] acoustics = AcousticRegistry.EMPTY;
+		IAcoustic[] foliage = null;
+		int stepY = MathStuff.floor(y);
 
-		Vec3d tPos = vec.add(0, 1, 0);
-		final IBlockState above = getBlockState(tPos);
+		final IBlockState above = getBlockState(x, y + 1, z);
 
 		if (above != this.airState)
 			acoustics = this.blockMap.getBlockAcoustics(above, Substrate.CARPET);
@@ -164,13 +180,12 @@ public class AcousticResolver {
 			// will CONTINUE with the actual block surface the player is walking
 			// on NOT_EMITTER carpets will not cause solving to skip
 
-			in = getBlockStateFacade(vec);
+			in = getBlockStateFacade(x, y, z);
 			if (in == this.airState) {
-				tPos = vec.add(0, -1, 0);
-				final IBlockState below = getBlockState(tPos);
+				final IBlockState below = getBlockState(x, y - 1, z);
 				acoustics = this.blockMap.getBlockAcoustics(below, Substrate.FENCE);
 				if (acoustics != AcousticRegistry.EMPTY) {
-					vec = tPos;
+					stepY = MathStuff.floor(y - 1);
 					in = below;
 				}
 			}
@@ -186,14 +201,13 @@ public class AcousticResolver {
 				// if else group.
 
 				if (above != this.airState) {
-					final IAcoustic[] foliage = this.blockMap.getBlockAcoustics(above, Substrate.FOLIAGE);
-					if (foliage != null && foliage != AcousticRegistry.NOT_EMITTER) {
-						acoustics = MyUtils.concatenate(acoustics, foliage);
-					}
+					foliage = this.blockMap.getBlockAcoustics(above, Substrate.FOLIAGE);
+					if (foliage == AcousticRegistry.NOT_EMITTER)
+						foliage = null;
 				}
 			}
 		} else {
-			vec = tPos;
+			stepY = MathStuff.floor(y + 1);
 			in = above;
 		}
 
@@ -202,7 +216,10 @@ public class AcousticResolver {
 			return null;
 		} else {
 			// Let's play the fancy acoustics we have defined for the block
-			return new Association(in, this.loc.rebase(new BlockPos(vec)), acoustics);
+			this.result.set(in, this.loc, MathStuff.floor(x), stepY, MathStuff.floor(z), acoustics);
+			if (foliage != null)
+				this.result.add(foliage);
+			return this.result;
 		}
 	}
 
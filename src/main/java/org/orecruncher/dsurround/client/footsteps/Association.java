@@ -38,33 +38,33 @@ import net.minecraft.block.SoundType;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.Vec3d;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * The result of resolving a foot strike. Instances can be reset and reused by
+ * the footstep generators so they do not churn garbage each step.
+ */
 @SideOnly(Side.CLIENT)
 public class Association {
 
-	private final IBlockState state;
-	private final FootStrikeLocation location;
+	private IBlockState state;
+	private final FootStrikeLocation location = new FootStrikeLocation();
+	private boolean hasLocation;
 	private final ObjectArray<IAcoustic> data = new ObjectArray<>(8);
-	private final boolean isNotEmitter;
+	private boolean isNotEmitter;
 
 	public Association() {
 		this(AcousticRegistry.EMPTY);
 	}
 
 	public Association(@Nonnull final IAcoustic[] association) {
-		this(null, null, association);
+		this.hasLocation = false;
+		setData(association);
 	}
 
 	public Association(@Nonnull final EntityLivingBase entity, @Nonnull final IAcoustic[] association) {
-		final Vec3d vec = entity.getPositionVector();
-		this.state = null;
-		this.location = new FootStrikeLocation(entity, vec.x, vec.y + 1, vec.z);
-		;
-		this.data.addAll(association == null ? AcousticRegistry.EMPTY : association);
-		this.isNotEmitter = association == AcousticRegistry.NOT_EMITTER;
+		set(entity, association);
 	}
 
 	public Association(@Nonnull final IBlockState state, @Nonnull final FootStrikeLocation pos) {
@@ -73,12 +73,53 @@ public class Association {
 
 	public Association(@Nonnull final IBlockState state, @Nonnull final FootStrikeLocation pos,
 			@Nonnull final IAcoustic[] association) {
+		final BlockPos step = pos.getStepPos();
+		set(state, pos, step.getX(), step.getY(), step.getZ(), association);
+	}
+
+	/**
+	 * Resets the association to the acoustics at the entity's position.
+	 */
+	@Nonnull
+	public Association set(@Nonnull final EntityLivingBase entity, @Nonnull final IAcoustic[] association) {
+		this.state = null;
+		this.location.set(entity, entity.posX, entity.posY + 1, entity.posZ);
+		this.hasLocation = true;
+		setData(association);
+		return this;
+	}
+
+	/**
+	 * Resets the association to the acoustics of a block state. The strike
+	 * position is taken from the location, and the step is at the specified
+	 * block position.
+	 */
+	@Nonnull
+	public Association set(@Nonnull final IBlockState state, @Nonnull final FootStrikeLocation loc, final int stepX,
+			final int stepY, final int stepZ, @Nonnull final IAcoustic[] association) {
 		this.state = state;
-		this.location = pos;
-		this.data.addAll(association == null ? AcousticRegistry.EMPTY : association);
+		this.location.set(loc, stepX, stepY, stepZ);
+		this.hasLocation = true;
+		setData(association);
+		return this;
+	}
+
+	private void setData(@Nullable final IAcoustic[] association) {
+		this.data.clear();
+		if (association != null)
+			this.data.addAll(association);
 		this.isNotEmitter = association == AcousticRegistry.NOT_EMITTER;
 	}
 
+	/**
+	 * The acoustics of the association. The returned array is live so callers
+	 * should not hold on to it.
+	 */
+	@Nonnull
+	public ObjectArray<IAcoustic> getAcoustics() {
+		return this.data;
+	}
+
 	@Nonnull
 	public IAcoustic[] getData() {
 		return this.data.toArray(new IAcoustic[0]);
@@ -115,12 +156,12 @@ public class Association {
 	}
 
 	public boolean hasStrikeLocation() {
-		return this.location != null;
+		return this.hasLocation;
 	}
 
 	@Nullable
 	public BlockPos getStepPos() {
-		return this.location != null ? this.location.getStepPos() : null;
+		return this.hasLocation ? this.location.getStepPos() : null;
 	}
 
 	public boolean isNotEmitter() {
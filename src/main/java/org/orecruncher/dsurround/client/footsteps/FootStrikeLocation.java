@@ -41,34 +41,61 @@ import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * The location of a foot strike. Instances are mutable so that the footstep
+ * generators can reuse them from step to step.
+ */
 @SideOnly(Side.CLIENT)
 public final class FootStrikeLocation {
 
-	private final EntityLivingBase entity;
-	private final Vec3d strike;
-	private final BlockPos stepPos;
+	private EntityLivingBase entity;
+	private double x;
+	private double y;
+	private double z;
+	private final BlockPos.MutableBlockPos stepPos = new BlockPos.MutableBlockPos();
+
+	// Created on demand. It is handed out to the sound routines which may hang
+	// on to it so it is never changed once created.
+	private Vec3d strike;
+
+	public FootStrikeLocation() {
+
+	}
 
 	public FootStrikeLocation(@Nonnull final EntityLivingBase entity, final double x, final double y, final double z) {
-		this(entity, new Vec3d(x, y, z));
+		set(entity, x, y, z);
 	}
 
 	public FootStrikeLocation(@Nonnull final EntityLivingBase entity, @Nonnull final Vec3d loc) {
-		this.entity = entity;
+		set(entity, loc.x, loc.y, loc.z);
 		this.strike = loc;
-		this.stepPos = new BlockPos(loc);
 	}
 
-	protected FootStrikeLocation(@Nonnull final EntityLivingBase entity, @Nonnull final Vec3d loc,
-			@Nonnull final BlockPos pos) {
+	@Nonnull
+	public FootStrikeLocation set(@Nonnull final EntityLivingBase entity, final double x, final double y,
+			final double z) {
 		this.entity = entity;
-		this.strike = loc;
-		this.stepPos = pos;
+		this.x = x;
+		this.y = y;
+		this.z = z;
+		this.strike = null;
+		this.stepPos.setPos(x, y, z);
+		return this;
 	}
 
-	public FootStrikeLocation rebase(@Nonnull final BlockPos pos) {
-		if (!this.stepPos.equals(pos)) {
-			return new FootStrikeLocation(this.entity, this.strike, pos);
-		}
+	/**
+	 * Takes on the strike position of the other location with the step at the
+	 * specified block position.
+	 */
+	@Nonnull
+	public FootStrikeLocation set(@Nonnull final FootStrikeLocation loc, final int stepX, final int stepY,
+			final int stepZ) {
+		this.entity = loc.entity;
+		this.x = loc.x;
+		this.y = loc.y;
+		this.z = loc.z;
+		this.strike = loc.strike;
+		this.stepPos.setPos(stepX, stepY, stepZ);
 		return this;
 	}
 
@@ -77,48 +104,32 @@ public final class FootStrikeLocation {
 		return this.entity;
 	}
 
+	/**
+	 * The block position of the step. The returned object changes when the
+	 * location is reused so callers should not hold on to it.
+	 */
 	@Nonnull
 	public BlockPos getStepPos() {
 		return this.stepPos;
 	}
 
-	@Nonnull
-	public Vec3d getStrikePosition() {
-		return this.strike;
-	}
-
-	public Vec3d north() {
-		return offset(EnumFacing.NORTH, 1);
-	}
-
-	public Vec3d south() {
-		return offset(EnumFacing.SOUTH, 1);
+	public double getX() {
+		return this.x;
 	}
 
-	public Vec3d east() {
-		return offset(EnumFacing.EAST, 1);
+	public double getY() {
+		return this.y;
 	}
 
-	public Vec3d west() {
-		return offset(EnumFacing.WEST, 1);
+	public double getZ() {
+		return this.z;
 	}
 
-	public Vec3d up() {
-		return offset(EnumFacing.UP, 1);
-	}
-
-	public Vec3d down() {
-		return offset(EnumFacing.DOWN, 1);
-	}
-
-	/**
-	 * Offsets this strike position n blocks in the given direction
-	 */
 	@Nonnull
-	public Vec3d offset(@Nonnull final EnumFacing facing, final float n) {
-		return n == 0 ? this.strike
-				: new Vec3d(this.strike.x + facing.getXOffset() * n, this.strike.y + facing.getYOffset() * n,
-						this.strike.z + facing.getZOffset() * n);
+	public Vec3d getStrikePosition() {
+		if (this.strike == null)
+			this.strike = new Vec3d(this.x, this.y, this.z);
+		return this.strike;
 	}
 
 	/**
@@ -137,10 +148,10 @@ public final class FootStrikeLocation {
 	protected Vec3d footprintPosition() {
 		final World world = this.entity.getEntityWorld();
 		final IBlockState state = WorldUtils.getBlockState(world, this.stepPos);
-		if (hasFootstepImprint(world, state, this.strike)) {
+		if (hasFootstepImprint(world, state)) {
 			final double entityY = this.entity.getEntityBoundingBox().minY;
 			final double blockY = getBoundingBoxY(entityY, world, state, this.stepPos);
-			return new Vec3d(this.strike.x, Math.max(entityY, blockY), this.strike.z);
+			return new Vec3d(this.x, Math.max(entityY, blockY), this.z);
 
 		}
 		return null;
@@ -157,9 +168,9 @@ public final class FootStrikeLocation {
 		return Math.max(baseY, pos.getY() + Math.max(boundingY, collisionY));
 	}
 
-	protected boolean hasFootstepImprint(@Nonnull final World world, @Nonnull final IBlockState state,
-			@Nonnull final Vec3d pos) {
-		final IBlockState footstepState = FacadeHelper.resolveState(this.entity, state, world, pos, EnumFacing.UP);
+	protected boolean hasFootstepImprint(@Nonnull final World world, @Nonnull final IBlockState state) {
+		final IBlockState footstepState = FacadeHelper.resolveState(this.entity, state, world, this.x, this.y,
+				this.z, EnumFacing.UP);
 		return RegistryManager.FOOTSTEPS.hasFootprint(footstepState);
 	}
 }
@@ -104,7 +104,8 @@ public class Generator {
 	protected boolean scalStat;
 	protected boolean stepThisFrame;
 
-	protected BlockPos messyPos = BlockPos.ORIGIN;
+	protected final BlockPos.MutableBlockPos messyPos = new BlockPos.MutableBlockPos(BlockPos.ORIGIN);
+	protected final BlockPos.MutableBlockPos probe = new BlockPos.MutableBlockPos();
 	protected long brushesTime;
 
 	// We calc our own because of inconsistencies with Minecraft
@@ -115,10 +116,27 @@ public class Generator {
 	protected final ObjectArray<Footprint> footprints = new ObjectArray<>(4);
 	protected final SoundPlayer soundPlayer;
 
+	// Resolution state that is reused from step to step. An association is only
+	// alive until the step it was found for is played, so a small ring of them
+	// is enough to cover the multifoot case.
+	protected final AcousticResolver resolver;
+	protected final FootStrikeLocation strike = new FootStrikeLocation();
+	protected final Association[] associations = { new Association(), new Association(), new Association(),
+			new Association() };
+	protected int associationIdx;
+
 	public Generator(@Nonnull final Variator var) {
 		this.VAR = var;
 		this.blockMap = RegistryManager.FOOTSTEPS.getBlockMap();
 		this.soundPlayer = new SoundPlayer(this.VAR.VOLUME_SCALE);
+		this.resolver = new AcousticResolver(this.blockMap, this.VAR.DISTANCE_TO_CENTER);
+	}
+
+	@Nonnull
+	protected Association nextAssociation() {
+		final Association result = this.associations[this.associationIdx];
+		this.associationIdx = (this.associationIdx + 1) % this.associations.length;
+		return result;
 	}
 
 	public int getPedometer() {
@@ -351,10 +369,10 @@ public class Generator {
 			if (proceedWithStep(entity) && (entity.motionX != 0d || entity.motionZ != 0d)) {
 				final int yy = MathStuff
 						.floor(entity.posY - PROBE_DEPTH - entity.getYOffset() - (entity.onGround ? 0d : 0.25d));
-				final BlockPos pos = new BlockPos(entity.posX, yy, entity.posZ);
-				if (!this.messyPos.equals(pos)) {
-					this.messyPos = pos;
-					final Association assos = findAssociationMessyFoliage(entity, pos);
+				this.probe.setPos(entity.posX, yy, entity.posZ);
+				if (!this.messyPos.equals(this.probe)) {
+					this.messyPos.setPos(this.probe);
+					final Association assos = findAssociationMessyFoliage(entity, this.messyPos);
 					if (assos != null)
 						playAssociation(assos, EventType.WALK);
 				}
@@ -418,13 +436,10 @@ public class Generator {
 		final double xx = entity.posX + MathStuff.cos(rot) * feetDistanceToCenter;
 		final double zz = entity.posZ + MathStuff.sin(rot) * feetDistanceToCenter;
 		final double minY = entity.getEntityBoundingBox().minY;
-		final FootStrikeLocation loc = new FootStrikeLocation(entity, xx, minY - PROBE_DEPTH - verticalOffsetAsMinus,
-				zz);
-
-		final AcousticResolver resolver = new AcousticResolver(ClientChunkCache.instance(), this.blockMap, loc,
-				this.VAR.DISTANCE_TO_CENTER);
+		final FootStrikeLocation loc = this.strike.set(entity, xx, minY - PROBE_DEPTH - verticalOffsetAsMinus, zz);
 
-		final Association result = addSoundOverlay(entity, resolver.findAssociationForEvent());
+		final Association result = addSoundOverlay(entity,
+				this.resolver.findAssociationForEvent(ClientChunkCache.instance(), loc, nextAssociation()));
 
 		// It is possible that the association has no position, so it
 		// needs to be checked.
@@ -475,15 +490,15 @@ public class Generator {
 	protected Association findAssociationMessyFoliage(@Nonnull final EntityLivingBase entity,
 			@Nonnull final BlockPos pos) {
 		Association result = null;
-		final BlockPos up = pos.up();
-		final IBlockState above = ClientChunkCache.instance().getBlockState(up);
+		this.probe.setPos(pos.getX(), pos.getY() + 1, pos.getZ());
+		final IBlockState above = ClientChunkCache.instance().getBlockState(this.probe);
 
 		if (above != Blocks.AIR.getDefaultState()) {
 			IAcoustic[] acoustics = this.blockMap.getBlockAcoustics(above, Substrate.MESSY);
 			if (acoustics == AcousticRegistry.MESSY_GROUND) {
 				acoustics = this.blockMap.getBlockAcoustics(above, Substrate.FOLIAGE);
 				if (acoustics != null && acoustics != AcousticRegistry.NOT_EMITTER) {
-					result = new Association(entity, acoustics);
+					result = nextAssociation().set(entity, acoustics);
 				}
 
 			}
@@ -504,9 +519,8 @@ public class Generator {
 			FootstepAccents.provide(entity, pos, accents);
 			if (accents.size() > 0) {
 				if (assoc == null)
-					assoc = new Association(entity, accents.toArray(new IAcoustic[0]));
-				else
-					assoc.add(accents);
+					assoc = nextAssociation().set(entity, AcousticRegistry.EMPTY);
+				assoc.add(accents);
 			}
 		}
 
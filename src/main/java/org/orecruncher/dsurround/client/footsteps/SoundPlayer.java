@@ -26,6 +26,7 @@ package org.orecruncher.dsurround.client.footsteps;
 import java.util.Arrays;
 import java.util.Random;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -65,21 +66,27 @@ public class SoundPlayer implements ISoundPlayer {
 	}
 
 	public void playAcoustic(@Nonnull final Association assoc, @Nonnull final EventType event) {
-		playAcoustic(assoc.getStrikeLocation().getStrikePosition(), assoc.getData(), event, null);
+		final ObjectArray<IAcoustic> acoustics = assoc.getAcoustics();
+		if (acoustics.size() > 0) {
+			if (ModBase.log().isDebugging())
+				logAcousticPlay(acoustics.stream(), event);
+			final Vec3d location = assoc.getStrikeLocation().getStrikePosition();
+			for (int i = 0; i < acoustics.size(); i++)
+				acoustics.get(i).playSound(this, location, event, null);
+		}
 	}
 
-	private void logAcousticPlay(@Nonnull final IAcoustic[] acoustics, @Nonnull final EventType event) {
-		if (ModBase.log().isDebugging()) {
-			final String txt = Arrays.stream(acoustics).map(IAcoustic::getName).collect(Collectors.joining(","));
-			ModBase.log().debug(Trace.FOOTSTEP_ACOUSTIC, "Playing acoustic %s for event %s", txt,
-					event.toString().toUpperCase());
-		}
+	private void logAcousticPlay(@Nonnull final Stream<IAcoustic> acoustics, @Nonnull final EventType event) {
+		final String txt = acoustics.map(IAcoustic::getName).collect(Collectors.joining(","));
+		ModBase.log().debug(Trace.FOOTSTEP_ACOUSTIC, "Playing acoustic %s for event %s", txt,
+				event.toString().toUpperCase());
 	}
 
 	public void playAcoustic(@Nonnull final Vec3d location, @Nonnull final IAcoustic[] acoustics,
 			@Nonnull final EventType event, @Nullable final IOptions inputOptions) {
 		if (acoustics != null && acoustics.length > 0) {
-			logAcousticPlay(acoustics, event);
+			if (ModBase.log().isDebugging())
+				logAcousticPlay(Arrays.stream(acoustics), event);
 			for (int i = 0; i < acoustics.length; i++)
 				acoustics[i].playSound(this, location, event, inputOptions);
 		}
@@ -113,4 +113,18 @@ public final class FacadeHelper {
 		return state;
 	}
 
+	/**
+	 * Same as resolveState(), but the position is only turned into a Vec3d if
+	 * the block has a facade accessor. Used on the footstep path to avoid
+	 * creating garbage for the common case.
+	 */
+	@Nonnull
+	public static IBlockState resolveState(@Nonnull final EntityLivingBase entity, @Nonnull final IBlockState state,
+			@Nonnull final IBlockAccess world, final double x, final double y, final double z,
+			@Nullable final EnumFacing side) {
+		if (crackers.size() > 0 && state != Blocks.AIR.getDefaultState() && crackers.containsKey(state.getBlock()))
+			return resolveState(entity, state, world, new Vec3d(x, y, z), side);
+		return state;
+	}
+
 }
@@ -29,7 +29,7 @@ import java.util.Random;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import org.apache.commons.lang3.StringUtils;
+import org.orecruncher.dsurround.expression.Condition;
 import org.orecruncher.dsurround.expression.ExpressionEngine;
 import org.orecruncher.lib.chunk.IBlockAccessEx;
 
@@ -42,7 +42,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 public abstract class BlockEffect implements ISpecialEffect {
 
 	private int chance;
-	protected String conditions = StringUtils.EMPTY;
+	protected Condition conditions = Condition.ALWAYS;
 
 	public BlockEffect() {
 		this(100);
@@ -56,12 +56,16 @@ public abstract class BlockEffect implements ISpecialEffect {
 	public abstract BlockEffectType getEffectType();
 
 	public void setConditions(@Nullable final String conditions) {
-		this.conditions = conditions == null ? StringUtils.EMPTY : conditions.intern();
+		this.conditions = ExpressionEngine.instance().compile(conditions);
 	}
 
 	@Nonnull
 	public String getConditions() {
-		return this.conditions;
+		return this.conditions.getSource();
+	}
+
+	protected boolean checkConditions() {
+		return this.conditions.check();
 	}
 
 	public void setChance(final int chance) {
@@ -87,7 +91,7 @@ public abstract class BlockEffect implements ISpecialEffect {
 		if (!alwaysExecute() && random.nextInt(getChance()) != 0)
 			return false;
 
-		return ExpressionEngine.instance().check(getConditions());
+		return checkConditions();
 	}
 
 	/**
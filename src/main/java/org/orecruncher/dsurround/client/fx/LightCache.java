@@ -0,0 +1,96 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.fx;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Combined light values sampled during the current client tick. Particles
+ * that sit in the same block, like ripples in a pond or splashes on a roof,
+ * share a single lookup. Entries are dropped when the tick advances, and
+ * individual positions are dropped as the world reports light or block
+ * changes.
+ */
+@SideOnly(Side.CLIENT)
+public final class LightCache {
+
+	private static final int NOT_SAMPLED = -1;
+
+	private static final Long2IntOpenHashMap samples = new Long2IntOpenHashMap(1024);
+	private static int tick = -1;
+
+	static {
+		samples.defaultReturnValue(NOT_SAMPLED);
+	}
+
+	private LightCache() {
+
+	}
+
+	/**
+	 * Obtains the combined sky and block light for the position in the same
+	 * form as World.getCombinedLight(pos, 0).
+	 */
+	public static int getCombinedLight(@Nonnull final BlockPos pos) {
+		final int current = EnvironState.getTickCounter();
+		if (current != tick) {
+			tick = current;
+			samples.clear();
+		}
+
+		final long key = pos.toLong();
+		int light = samples.get(key);
+		if (light == NOT_SAMPLED) {
+			light = ClientChunkCache.instance().getCombinedLight(pos, 0);
+			samples.put(key, light);
+		}
+		return light;
+	}
+
+	/**
+	 * Drops the sample for a position whose light or block changed.
+	 */
+	public static void invalidate(@Nonnull final BlockPos pos) {
+		if (!samples.isEmpty())
+			samples.remove(pos.toLong());
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld() instanceof WorldClient)
+			samples.clear();
+	}
+}
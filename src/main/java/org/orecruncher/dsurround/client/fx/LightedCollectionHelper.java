@@ -26,7 +26,7 @@ package org.orecruncher.dsurround.client.fx;
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollection;
-import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollection.ICollectionFactory;
+import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionBase.ICollectionFactory;
 //import elucent.albedo.event.GatherLightsEvent;
 //import elucent.albedo.lighting.Light;
 import net.minecraft.util.ResourceLocation;
@@ -35,14 +35,14 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class LightedCollectionHelper extends CollectionHelper {
+public class LightedCollectionHelper extends CollectionHelper<ParticleCollection> {
 
 	public LightedCollectionHelper(@Nonnull final String name, @Nonnull final ResourceLocation texture) {
 		this(name, ParticleCollection.FACTORY, texture);
 	}
 
-	public LightedCollectionHelper(@Nonnull final String name, @Nonnull final ICollectionFactory factory,
-			@Nonnull final ResourceLocation texture) {
+	public LightedCollectionHelper(@Nonnull final String name,
+			@Nonnull final ICollectionFactory<ParticleCollection> factory, @Nonnull final ResourceLocation texture) {
 		super(name, factory, texture);
 		MinecraftForge.EVENT_BUS.register(this);
 	}
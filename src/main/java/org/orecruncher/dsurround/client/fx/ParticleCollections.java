@@ -32,12 +32,11 @@ import org.orecruncher.dsurround.ModInfo;
 import org.orecruncher.dsurround.client.fx.particle.mote.IParticleMote;
 import org.orecruncher.dsurround.client.fx.particle.mote.MoteFireFly;
 import org.orecruncher.dsurround.client.fx.particle.mote.MoteFootprint;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteRainSplash;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteWaterRipple;
-import org.orecruncher.dsurround.client.fx.particle.mote.MoteWaterSpray;
+import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollection;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionFireFly;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionFootprint;
 import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionRipples;
+import org.orecruncher.dsurround.client.fx.particle.mote.ParticleCollectionSprays;
 import org.orecruncher.dsurround.event.DiagnosticEvent;
 import org.orecruncher.dsurround.registry.footstep.FootprintStyle;
 
@@ -62,49 +61,30 @@ public final class ParticleCollections {
 			"textures/particles/footprint.png");
 	private static final ResourceLocation FIREFLY_TEXTURE = new ResourceLocation("textures/particle/particles.png");
 
-	private final static CollectionHelper theRipples = new CollectionHelper("Rain Ripples",
-			ParticleCollectionRipples.FACTORY, RIPPLE_TEXTURE);
-	private final static CollectionHelper theSprays = new CollectionHelper("Water Spray", SPRAY_TEXTURE);
-	private final static CollectionHelper thePrints = new CollectionHelper("Footprints",
+	private final static CollectionHelper<ParticleCollectionRipples> theRipples = new CollectionHelper<>(
+			"Rain Ripples", ParticleCollectionRipples.FACTORY, RIPPLE_TEXTURE);
+	private final static CollectionHelper<ParticleCollectionSprays> theSprays = new CollectionHelper<>(
+			"Water Spray", ParticleCollectionSprays.FACTORY, SPRAY_TEXTURE);
+	private final static CollectionHelper<ParticleCollection> thePrints = new CollectionHelper<>("Footprints",
 			ParticleCollectionFootprint.FACTORY, FOOTPRINT_TEXTURE);
-	private final static CollectionHelper theFireFlies = new LightedCollectionHelper("Fireflies",
-			ParticleCollectionFireFly.FACTORY, FIREFLY_TEXTURE);
+	private final static CollectionHelper<ParticleCollection> theFireFlies = new LightedCollectionHelper(
+			"Fireflies", ParticleCollectionFireFly.FACTORY, FIREFLY_TEXTURE);
 
-	@Nullable
-	public static IParticleMote addWaterRipple(@Nonnull final World world, final double x, final double y,
-			final double z) {
-		IParticleMote mote = null;
-		if (theRipples.get().canFit()) {
-			mote = new MoteWaterRipple(world, x, y, z);
-			theRipples.get().addParticle(mote);
-		}
-		return mote;
+	public static boolean addWaterRipple(final double x, final double y, final double z) {
+		return theRipples.get().addRipple(x, y, z);
 	}
 
-	@Nullable
-	public static IParticleMote addWaterSpray(@Nonnull final World world, final double x, final double y,
-			final double z, final double dX, final double dY, final double dZ) {
-		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
-			mote = new MoteWaterSpray(world, x, y, z, dX, dY, dZ);
-			theSprays.get().addParticle(mote);
-		}
-		return mote;
+	public static boolean addWaterSpray(final double x, final double y, final double z, final double dX,
+			final double dY, final double dZ) {
+		return theSprays.get().addWaterSpray(x, y, z, dX, dY, dZ);
 	}
 
 	public static boolean canFitWaterSpray() {
 		return theSprays.get().canFit();
 	}
 
-	@Nullable
-	public static IParticleMote addRainSplash(@Nonnull final World world, final double x, final double y,
-			final double z) {
-		IParticleMote mote = null;
-		if (theSprays.get().canFit()) {
-			mote = new MoteRainSplash(world, x, y, z);
-			theSprays.get().addParticle(mote);
-		}
-		return mote;
+	public static boolean addRainSplash(final double x, final double y, final double z) {
+		return theSprays.get().addRainSplash(x, y, z);
 	}
 
 	@Nullable
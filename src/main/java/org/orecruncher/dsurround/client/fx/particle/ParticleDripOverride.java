@@ -115,8 +115,8 @@ public class ParticleDripOverride extends ParticleDrip {
 			if (state.getBlock() == Blocks.LAVA) {
 				doSteam = true;
 			} else if (state.getMaterial().isLiquid()) {
-				doSteam = ParticleCollections.addWaterRipple(this.world, this.posX, this.pos.getY() + 1,
-						this.posZ) != null && this.materialType == Material.LAVA;
+				doSteam = ParticleCollections.addWaterRipple(this.posX, this.pos.getY() + 1, this.posZ)
+						&& this.materialType == Material.LAVA;
 			} else {
 				this.pos.move(EnumFacing.DOWN);
 				state = ClientChunkCache.instance().getBlockState(this.pos);
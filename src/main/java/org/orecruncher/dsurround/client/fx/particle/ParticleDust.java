@@ -24,6 +24,7 @@
 
 package org.orecruncher.dsurround.client.fx.particle;
 
+import org.orecruncher.dsurround.client.fx.LightCache;
 import org.orecruncher.lib.WorldUtils;
 import org.orecruncher.lib.random.XorShiftRandom;
 
@@ -121,7 +122,7 @@ public class ParticleDust extends ParticleBlockDust {
 
 	@Override
 	public int getBrightnessForRender(final float partialTicks) {
-		return this.world.getCombinedLight(this.pos, 0);
+		return LightCache.getCombinedLight(this.pos);
 	}
 
 }
\ No newline at end of file
@@ -28,18 +28,9 @@ import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
 
-import org.lwjgl.opengl.GL11;
-import org.orecruncher.dsurround.client.fx.particle.ParticleBase;
-import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
-import org.orecruncher.dsurround.lib.compat.ModEnvironment;
 import org.orecruncher.lib.collections.ObjectArray;
-import org.orecruncher.lib.gfx.OpenGlState;
 
 import net.minecraft.client.renderer.BufferBuilder;
-import net.minecraft.client.renderer.GlStateManager;
-import net.minecraft.client.renderer.Tessellator;
-import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
-import net.minecraft.client.renderer.vertex.VertexFormat;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
@@ -47,7 +38,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
-public class ParticleCollection extends ParticleBase {
+public class ParticleCollection extends ParticleCollectionBase {
 
 	/**
 	 * Predicate used to update a mote and return whether it is dead or not.
@@ -57,26 +48,10 @@ public class ParticleCollection extends ParticleBase {
 		return !mote.isAlive();
 	};
 
-	protected static final int MAX_PARTICLES = 4000;
-	protected static final int ALLOCATION_SIZE = 128;
-	protected static final int TICK_GRACE = 2;
-
 	protected final ObjectArray<IParticleMote> myParticles = new ObjectArray<>(ALLOCATION_SIZE);
-	protected final ResourceLocation texture;
-
-	protected int lastTickUpdate;
-	protected OpenGlState glState;
 
 	public ParticleCollection(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
-		super(world, 0, 0, 0);
-
-		this.canCollide = false;
-		this.texture = tex;
-		this.lastTickUpdate = EnvironState.getTickCounter();
-	}
-
-	public boolean canFit() {
-		return this.myParticles.size() < MAX_PARTICLES;
+		super(world, tex);
 	}
 
 	public boolean addParticle(@Nonnull final IParticleMote mote) {
@@ -92,84 +67,24 @@ public class ParticleCollection extends ParticleBase {
 		return this.myParticles;
 	}
 
+	@Override
 	public int size() {
 		return this.myParticles.size();
 	}
 
-	public boolean shouldDie() {
-		final boolean timeout = (EnvironState.getTickCounter() - this.lastTickUpdate) > TICK_GRACE;
-		return timeout || size() == 0 || this.world != EnvironState.getWorld();
-	}
-
 	@Override
-	public void onUpdate() {
-		if (!isAlive())
-			return;
-
-		this.lastTickUpdate = EnvironState.getTickCounter();
-
-		// Update state and remove the dead ones
+	protected void updateMotes() {
 		this.myParticles.removeIf(UPDATE_REMOVE);
-
-		if (shouldDie()) {
-			setExpired();
-		}
-	}
-
-	@Nonnull
-	protected VertexFormat getVertexFormat() {
-		return DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP;
 	}
 
 	@Override
-	public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+	protected void renderMotes(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
 			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
-
-		if (this.myParticles.size() == 0)
-			return;
-
-		bindTexture(this.texture);
-		preRender();
-
-		buffer.begin(GL11.GL_QUADS, getVertexFormat());
 		for (int i = 0; i < this.myParticles.size(); i++)
 			this.myParticles.get(i).renderParticle(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
-		Tessellator.getInstance().draw();
-
-		postRender();
-	}
-
-	protected boolean enableLighting() {
-		return ModEnvironment.Albedo.isLoaded();
-	}
-
-	protected void preRender() {
-		this.glState = OpenGlState.push();
-		if (enableLighting())
-			GlStateManager.enableLighting();
-		else
-			GlStateManager.disableLighting();
-	}
-
-	protected void postRender() {
-		OpenGlState.pop(this.glState);
-		this.glState = null;
-	}
-
-	@Override
-	public int getFXLayer() {
-		return 3;
-	}
-
-	/**
-	 * Factory interface for creating particle collection instances. Used by the
-	 * ParticleCollections manager.
-	 */
-	public static interface ICollectionFactory {
-		ParticleCollection create(@Nonnull final World world, @Nonnull final ResourceLocation texture);
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
+	public static final ICollectionFactory<ParticleCollection> FACTORY = (world, texture) -> {
 		return new ParticleCollection(world, texture);
 	};
 
@@ -0,0 +1,273 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.nio.ByteOrder;
+
+import javax.annotation.Nonnull;
+
+import org.lwjgl.opengl.GL11;
+import org.orecruncher.dsurround.client.fx.particle.ParticleBase;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.lib.compat.ModEnvironment;
+import org.orecruncher.lib.gfx.OpenGlState;
+
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.entity.RenderManager;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.renderer.vertex.VertexFormat;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Common handling for a particle that renders a group of motes in a single
+ * draw. How the motes are stored is up to the subclass. Subclasses that keep
+ * their motes in parallel primitive arrays can use the slot management here,
+ * where a dead mote is removed by moving the last mote into its slot.
+ */
+@SideOnly(Side.CLIENT)
+public abstract class ParticleCollectionBase extends ParticleBase {
+
+	protected static final int MAX_PARTICLES = 4000;
+	protected static final int ALLOCATION_SIZE = 128;
+	protected static final int TICK_GRACE = 2;
+
+	// Size of a PARTICLE_POSITION_TEX_COLOR_LMAP vertex in ints
+	private static final int VERTEX_SIZE = 7;
+	private static final int QUAD_SIZE = VERTEX_SIZE * 4;
+	private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+	private static final RenderManager RENDERER = Minecraft.getMinecraft().getRenderManager();
+
+	protected final ResourceLocation texture;
+	private final int[] quad = new int[QUAD_SIZE];
+
+	protected int lastTickUpdate;
+	protected OpenGlState glState;
+
+	// Viewer position for the frame being rendered
+	protected double viewX;
+	protected double viewY;
+	protected double viewZ;
+
+	// Slots in use and allocated in the parallel mote arrays of a subclass
+	protected int moteCount;
+	private int moteCapacity = ALLOCATION_SIZE;
+
+	public ParticleCollectionBase(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
+		super(world, 0, 0, 0);
+
+		this.canCollide = false;
+		this.texture = tex;
+		this.lastTickUpdate = EnvironState.getTickCounter();
+	}
+
+	public boolean canFit() {
+		return size() < MAX_PARTICLES;
+	}
+
+	public int size() {
+		return this.moteCount;
+	}
+
+	/**
+	 * Obtains a slot for a new mote, growing the mote arrays if needed.
+	 */
+	protected final int allocateMote() {
+		if (this.moteCount == this.moteCapacity) {
+			this.moteCapacity = Math.min(this.moteCapacity * 2, MAX_PARTICLES);
+			resizeMotes(this.moteCapacity);
+		}
+		return this.moteCount++;
+	}
+
+	/**
+	 * Frees the slot of a dead mote by moving the last mote into it.
+	 */
+	protected final void removeMote(final int slot) {
+		final int last = --this.moteCount;
+		if (slot != last)
+			moveMote(last, slot);
+	}
+
+	/**
+	 * Resizes the mote arrays to the specified capacity.
+	 */
+	protected void resizeMotes(final int capacity) {
+	}
+
+	/**
+	 * Copies the mote in one slot to another.
+	 */
+	protected void moveMote(final int from, final int to) {
+	}
+
+	public boolean shouldDie() {
+		final boolean timeout = (EnvironState.getTickCounter() - this.lastTickUpdate) > TICK_GRACE;
+		return timeout || size() == 0 || this.world != EnvironState.getWorld();
+	}
+
+	@Override
+	public void onUpdate() {
+		if (!isAlive())
+			return;
+
+		this.lastTickUpdate = EnvironState.getTickCounter();
+
+		// Update state and remove the dead ones
+		updateMotes();
+
+		if (shouldDie()) {
+			setExpired();
+		}
+	}
+
+	/**
+	 * Advances the motes one tick and removes those that died.
+	 */
+	protected abstract void updateMotes();
+
+	@Nonnull
+	protected VertexFormat getVertexFormat() {
+		return DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP;
+	}
+
+	@Override
+	public void renderParticle(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		if (size() == 0)
+			return;
+
+		this.viewX = RENDERER.viewerPosX;
+		this.viewY = RENDERER.viewerPosY;
+		this.viewZ = RENDERER.viewerPosZ;
+
+		bindTexture(this.texture);
+		preRender();
+
+		buffer.begin(GL11.GL_QUADS, getVertexFormat());
+		renderMotes(buffer, entityIn, partialTicks, rotX, rotZ, rotYZ, rotXY, rotXZ);
+		Tessellator.getInstance().draw();
+
+		postRender();
+	}
+
+	/**
+	 * Adds the quads of the motes to the buffer.
+	 */
+	protected abstract void renderMotes(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ);
+
+	protected boolean enableLighting() {
+		return ModEnvironment.Albedo.isLoaded();
+	}
+
+	protected void preRender() {
+		this.glState = OpenGlState.push();
+		if (enableLighting())
+			GlStateManager.enableLighting();
+		else
+			GlStateManager.disableLighting();
+	}
+
+	protected void postRender() {
+		OpenGlState.pop(this.glState);
+		this.glState = null;
+	}
+
+	@Override
+	public int getFXLayer() {
+		return 3;
+	}
+
+	/**
+	 * Packs a color the way BufferBuilder.color() lays it out in the buffer.
+	 */
+	protected static int packColor(final int red, final int green, final int blue, final int alpha) {
+		if (LITTLE_ENDIAN)
+			return alpha << 24 | blue << 16 | green << 8 | red;
+		return red << 24 | green << 16 | blue << 8 | alpha;
+	}
+
+	/**
+	 * Packs a combined light value the way BufferBuilder.lightmap() lays it out
+	 * in the buffer.
+	 */
+	protected static int packLightmap(final int combinedLight) {
+		final int sky = combinedLight >> 16 & 65535;
+		final int block = combinedLight & 65535;
+		if (LITTLE_ENDIAN)
+			return sky << 16 | block;
+		return block << 16 | sky;
+	}
+
+	/**
+	 * Writes a PARTICLE_POSITION_TEX_COLOR_LMAP vertex into the data array at
+	 * the specified offset, returning the offset of the next vertex.
+	 */
+	private static int putVertex(@Nonnull final int[] data, final int offset, final float x, final float y,
+			final float z, final float u, final float v, final int color, final int lightmap) {
+		data[offset] = Float.floatToRawIntBits(x);
+		data[offset + 1] = Float.floatToRawIntBits(y);
+		data[offset + 2] = Float.floatToRawIntBits(z);
+		data[offset + 3] = Float.floatToRawIntBits(u);
+		data[offset + 4] = Float.floatToRawIntBits(v);
+		data[offset + 5] = color;
+		data[offset + 6] = lightmap;
+		return offset + VERTEX_SIZE;
+	}
+
+	/**
+	 * Adds a quad centered on (x, y, z), relative to the viewer, to the buffer.
+	 * The corners are center - a - b, center - a + b, center + a + b and center
+	 * + a - b.
+	 */
+	protected final void addQuad(@Nonnull final BufferBuilder buffer, final float x, final float y, final float z,
+			final float aX, final float aY, final float aZ, final float bX, final float bY, final float bZ,
+			final float u1, final float u2, final float v1, final float v2, final int rgba, final int light) {
+		final int[] data = this.quad;
+		int idx = 0;
+		idx = putVertex(data, idx, x - aX - bX, y - aY - bY, z - aZ - bZ, u2, v2, rgba, light);
+		idx = putVertex(data, idx, x - aX + bX, y - aY + bY, z - aZ + bZ, u2, v1, rgba, light);
+		idx = putVertex(data, idx, x + aX + bX, y + aY + bY, z + aZ + bZ, u1, v1, rgba, light);
+		putVertex(data, idx, x + aX - bX, y + aY - bY, z + aZ - bZ, u1, v2, rgba, light);
+		buffer.addVertexData(data);
+	}
+
+	/**
+	 * Factory interface for creating particle collection instances. Used by the
+	 * ParticleCollections manager.
+	 */
+	public static interface ICollectionFactory<T extends ParticleCollectionBase> {
+		T create(@Nonnull final World world, @Nonnull final ResourceLocation texture);
+	}
+
+}
@@ -48,7 +48,7 @@ public class ParticleCollectionFireFly extends ParticleCollection {
 		OpenGlUtil.setStandardBlend();
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
+	public static final ICollectionFactory<ParticleCollection> FACTORY = (world, texture) -> {
 		return new ParticleCollectionFireFly(world, texture);
 	};
 
@@ -53,7 +53,7 @@ public class ParticleCollectionFootprint extends ParticleCollection {
 		OpenGlUtil.setStandardBlend();
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
+	public static final ICollectionFactory<ParticleCollection> FACTORY = (world, texture) -> {
 		return new ParticleCollectionFootprint(world, texture);
 	};
 
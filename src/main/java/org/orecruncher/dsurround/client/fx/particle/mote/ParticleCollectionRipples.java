@@ -24,23 +24,133 @@
 
 package org.orecruncher.dsurround.client.fx.particle.mote;
 
+import java.util.Arrays;
+
 import javax.annotation.Nonnull;
 
+import org.orecruncher.dsurround.client.fx.LightCache;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.Color;
 import org.orecruncher.lib.gfx.OpenGlUtil;
 
+import net.minecraft.client.renderer.BufferBuilder;
 import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.entity.Entity;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+/**
+ * Rain ripples on the surface of water. Like the sprays the ripple state is
+ * held in parallel primitive arrays.
+ */
 @SideOnly(Side.CLIENT)
-public class ParticleCollectionRipples extends ParticleCollection {
+public class ParticleCollectionRipples extends ParticleCollectionBase {
+
+	private static final float TEX_SIZE_HALF = 0.5F;
+
+	protected final BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+
+	protected double[] moteX = new double[ALLOCATION_SIZE];
+	protected double[] moteY = new double[ALLOCATION_SIZE];
+	protected double[] moteZ = new double[ALLOCATION_SIZE];
+	protected int[] age = new int[ALLOCATION_SIZE];
+	protected int[] maxAge = new int[ALLOCATION_SIZE];
+	protected float[] growthRate = new float[ALLOCATION_SIZE];
+	protected float[] scale = new float[ALLOCATION_SIZE];
+	protected int[] rgb = new int[ALLOCATION_SIZE];
+	protected int[] alpha = new int[ALLOCATION_SIZE];
+	protected int[] lightmap = new int[ALLOCATION_SIZE];
 
 	public ParticleCollectionRipples(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
 		super(world, tex);
 	}
 
+	/**
+	 * Adds a ripple tinted with the color of the liquid at the location.
+	 */
+	public boolean addRipple(final double x, final double y, final double z) {
+		if (!canFit())
+			return false;
+
+		final RippleStyle style = RippleStyle.get();
+		final Color waterColor = BiomeUtil.getColorForLiquid(this.world, this.position.setPos(x, y, z));
+
+		final int i = allocateMote();
+		this.moteX[i] = x;
+		this.moteY[i] = y - 0.2D;
+		this.moteZ[i] = z;
+		this.age[i] = 0;
+		this.maxAge[i] = style.getMaxAge();
+		if (style.doScaling()) {
+			this.growthRate[i] = this.maxAge[i] / 500F;
+			this.scale[i] = this.growthRate[i];
+		} else {
+			this.growthRate[i] = 0F;
+			this.scale[i] = 0F;
+		}
+		this.rgb[i] = (int) (waterColor.red * 255) << 16 | (int) (waterColor.green * 255) << 8
+				| (int) (waterColor.blue * 255);
+		this.alpha[i] = 255;
+		this.lightmap[i] = 0;
+		return true;
+	}
+
+	@Override
+	protected void resizeMotes(final int capacity) {
+		this.moteX = Arrays.copyOf(this.moteX, capacity);
+		this.moteY = Arrays.copyOf(this.moteY, capacity);
+		this.moteZ = Arrays.copyOf(this.moteZ, capacity);
+		this.age = Arrays.copyOf(this.age, capacity);
+		this.maxAge = Arrays.copyOf(this.maxAge, capacity);
+		this.growthRate = Arrays.copyOf(this.growthRate, capacity);
+		this.scale = Arrays.copyOf(this.scale, capacity);
+		this.rgb = Arrays.copyOf(this.rgb, capacity);
+		this.alpha = Arrays.copyOf(this.alpha, capacity);
+		this.lightmap = Arrays.copyOf(this.lightmap, capacity);
+	}
+
+	@Override
+	protected void moveMote(final int from, final int to) {
+		this.moteX[to] = this.moteX[from];
+		this.moteY[to] = this.moteY[from];
+		this.moteZ[to] = this.moteZ[from];
+		this.age[to] = this.age[from];
+		this.maxAge[to] = this.maxAge[from];
+		this.growthRate[to] = this.growthRate[from];
+		this.scale[to] = this.scale[from];
+		this.rgb[to] = this.rgb[from];
+		this.alpha[to] = this.alpha[from];
+		this.lightmap[to] = this.lightmap[from];
+	}
+
+	@Override
+	protected void updateMotes() {
+		final RippleStyle style = RippleStyle.get();
+		final boolean doScaling = style.doScaling();
+		final boolean doAlpha = style.doAlpha();
+
+		int i = 0;
+		while (i < this.moteCount) {
+			// The ripple reached it's life expectancy
+			if (this.age[i]++ >= this.maxAge[i]) {
+				removeMote(i);
+				continue;
+			}
+
+			if (doScaling)
+				this.scale[i] += this.growthRate[i];
+			if (doAlpha)
+				this.alpha[i] = (int) ((float) (this.maxAge[i] - this.age[i]) / (float) (this.maxAge[i] + 3) * 255);
+
+			this.position.setPos(this.moteX[i], this.moteY[i], this.moteZ[i]);
+			this.lightmap[i] = packLightmap(LightCache.getCombinedLight(this.position));
+			i++;
+		}
+	}
+
 	@Override
 	protected void bindTexture(@Nonnull final ResourceLocation resource) {
 		final ResourceLocation res = RippleStyle.get().getTexture();
@@ -55,7 +165,32 @@ public class ParticleCollectionRipples extends ParticleCollection {
 		GlStateManager.depthMask(false);
 	}
 
-	public static final ICollectionFactory FACTORY = (world, texture) -> {
+	@Override
+	protected void renderMotes(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		final RippleStyle style = RippleStyle.get();
+		final boolean doScaling = style.doScaling();
+
+		for (int i = 0; i < this.moteCount; i++) {
+			final float x = (float) (this.moteX[i] - this.viewX);
+			final float y = (float) (this.moteY[i] - this.viewY);
+			final float z = (float) (this.moteZ[i] - this.viewZ);
+			final float width = doScaling ? this.scale[i] * TEX_SIZE_HALF : 0.5F;
+			final int a = this.age[i];
+			final float u1 = style.getU1(a);
+			final float u2 = style.getU2(a);
+			final float v1 = style.getV1(a);
+			final float v2 = style.getV2(a);
+			final int c = this.rgb[i];
+			final int rgba = packColor(c >> 16 & 255, c >> 8 & 255, c & 255, this.alpha[i]);
+
+			// Flat on the surface of the water
+			addQuad(buffer, x, y, z, 0F, 0F, -width, width, 0F, 0F, u1, u2, v1, v2, rgba, this.lightmap[i]);
+		}
+	}
+
+	public static final ICollectionFactory<ParticleCollectionRipples> FACTORY = (world, texture) -> {
 		return new ParticleCollectionRipples(world, texture);
 	};
 
@@ -0,0 +1,241 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.fx.particle.mote;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.fx.LightCache;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.Color;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Water spray and rain splash motes. The state of the motes is held in
+ * parallel primitive arrays rather than as individual objects, and dead motes
+ * are removed by moving the last mote into their slot.
+ */
+@SideOnly(Side.CLIENT)
+public class ParticleCollectionSprays extends ParticleCollectionBase {
+
+	private static final Random RANDOM = XorShiftRandom.current();
+	private static final double GRAVITY = 0.06D;
+	private static final double DRAG = 0.9800000190734863D;
+	private static final int WHITE = packColor(255, 255, 255, 255);
+
+	protected final BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+
+	protected double[] moteX = new double[ALLOCATION_SIZE];
+	protected double[] moteY = new double[ALLOCATION_SIZE];
+	protected double[] moteZ = new double[ALLOCATION_SIZE];
+	protected double[] motePrevX = new double[ALLOCATION_SIZE];
+	protected double[] motePrevY = new double[ALLOCATION_SIZE];
+	protected double[] motePrevZ = new double[ALLOCATION_SIZE];
+	protected double[] moteMotionX = new double[ALLOCATION_SIZE];
+	protected double[] moteMotionY = new double[ALLOCATION_SIZE];
+	protected double[] moteMotionZ = new double[ALLOCATION_SIZE];
+	protected int[] age = new int[ALLOCATION_SIZE];
+	protected int[] maxAge = new int[ALLOCATION_SIZE];
+	protected float[] moteSize = new float[ALLOCATION_SIZE];
+	protected float[] texU = new float[ALLOCATION_SIZE];
+	protected float[] texV = new float[ALLOCATION_SIZE];
+	protected int[] color = new int[ALLOCATION_SIZE];
+	protected int[] lightmap = new int[ALLOCATION_SIZE];
+
+	public ParticleCollectionSprays(@Nonnull final World world, @Nonnull final ResourceLocation tex) {
+		super(world, tex);
+	}
+
+	/**
+	 * Adds a water spray mote tinted with the color of the liquid at the
+	 * location.
+	 */
+	public boolean addWaterSpray(final double x, final double y, final double z, final double dX, final double dY,
+			final double dZ) {
+		if (!canFit())
+			return false;
+		final Color waterColor = BiomeUtil.getColorForLiquid(this.world, this.position.setPos(x, y, z));
+		add(x, y, z, dX, dY, dZ, packColor((int) (waterColor.red * 255), (int) (waterColor.green * 255),
+				(int) (waterColor.blue * 255), 255));
+		return true;
+	}
+
+	/**
+	 * Adds a rain splash mote, which is a white spray with a random upward
+	 * motion.
+	 */
+	public boolean addRainSplash(final double x, final double y, final double z) {
+		if (!canFit())
+			return false;
+
+		double dX = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double dY = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		double dZ = (RANDOM.nextDouble() * 2.0D - 1.0D) * 0.4000000059604645D;
+		final float f = (float) (RANDOM.nextDouble() + RANDOM.nextDouble() + 1.0D) * 0.15F;
+		final float f1 = MathHelper.sqrt(dX * dX + dY * dY + dZ * dZ);
+		dX = dX / f1 * f * 0.4000000059604645D;
+		dZ = dZ / f1 * f * 0.4000000059604645D;
+
+		dX *= 0.30000001192092896D;
+		dY = RANDOM.nextDouble() * 0.20000000298023224D + 0.10000000149011612D;
+		dZ *= 0.30000001192092896D;
+
+		add(x, y, z, dX, dY, dZ, WHITE);
+		return true;
+	}
+
+	protected void add(final double x, final double y, final double z, final double dX, final double dY,
+			final double dZ, final int rgba) {
+		final int i = allocateMote();
+		this.moteX[i] = this.motePrevX[i] = x;
+		this.moteY[i] = this.motePrevY[i] = y;
+		this.moteZ[i] = this.motePrevZ[i] = z;
+		this.moteMotionX[i] = dX;
+		this.moteMotionY[i] = dY;
+		this.moteMotionZ[i] = dZ;
+		this.age[i] = 0;
+		this.maxAge[i] = (int) (8.0F / (RANDOM.nextFloat() * 0.8F + 0.2F));
+
+		// Tweak the constant to change the size of the raindrop
+		this.moteSize[i] = 0.07F * (RANDOM.nextFloat() * 0.5F + 0.5F) * 2.0F;
+
+		final int textureIdx = RANDOM.nextInt(4);
+		this.texU[i] = (textureIdx % 2) * 0.5F;
+		this.texV[i] = (textureIdx / 2) * 0.5F;
+		this.color[i] = rgba;
+		this.lightmap[i] = 0;
+	}
+
+	@Override
+	protected void resizeMotes(final int capacity) {
+		this.moteX = Arrays.copyOf(this.moteX, capacity);
+		this.moteY = Arrays.copyOf(this.moteY, capacity);
+		this.moteZ = Arrays.copyOf(this.moteZ, capacity);
+		this.motePrevX = Arrays.copyOf(this.motePrevX, capacity);
+		this.motePrevY = Arrays.copyOf(this.motePrevY, capacity);
+		this.motePrevZ = Arrays.copyOf(this.motePrevZ, capacity);
+		this.moteMotionX = Arrays.copyOf(this.moteMotionX, capacity);
+		this.moteMotionY = Arrays.copyOf(this.moteMotionY, capacity);
+		this.moteMotionZ = Arrays.copyOf(this.moteMotionZ, capacity);
+		this.age = Arrays.copyOf(this.age, capacity);
+		this.maxAge = Arrays.copyOf(this.maxAge, capacity);
+		this.moteSize = Arrays.copyOf(this.moteSize, capacity);
+		this.texU = Arrays.copyOf(this.texU, capacity);
+		this.texV = Arrays.copyOf(this.texV, capacity);
+		this.color = Arrays.copyOf(this.color, capacity);
+		this.lightmap = Arrays.copyOf(this.lightmap, capacity);
+	}
+
+	@Override
+	protected void moveMote(final int from, final int to) {
+		this.moteX[to] = this.moteX[from];
+		this.moteY[to] = this.moteY[from];
+		this.moteZ[to] = this.moteZ[from];
+		this.motePrevX[to] = this.motePrevX[from];
+		this.motePrevY[to] = this.motePrevY[from];
+		this.motePrevZ[to] = this.motePrevZ[from];
+		this.moteMotionX[to] = this.moteMotionX[from];
+		this.moteMotionY[to] = this.moteMotionY[from];
+		this.moteMotionZ[to] = this.moteMotionZ[from];
+		this.age[to] = this.age[from];
+		this.maxAge[to] = this.maxAge[from];
+		this.moteSize[to] = this.moteSize[from];
+		this.texU[to] = this.texU[from];
+		this.texV[to] = this.texV[from];
+		this.color[to] = this.color[from];
+		this.lightmap[to] = this.lightmap[from];
+	}
+
+	@Override
+	protected void updateMotes() {
+		final ClientChunkCache cache = ClientChunkCache.instance();
+		int i = 0;
+		while (i < this.moteCount) {
+			// The mote reached it's life expectancy
+			if (this.age[i]++ >= this.maxAge[i]) {
+				removeMote(i);
+				continue;
+			}
+
+			this.motePrevX[i] = this.moteX[i];
+			this.motePrevY[i] = this.moteY[i];
+			this.motePrevZ[i] = this.moteZ[i];
+			this.moteMotionY[i] -= GRAVITY;
+			this.moteX[i] += this.moteMotionX[i];
+			this.moteY[i] += this.moteMotionY[i];
+			this.moteZ[i] += this.moteMotionZ[i];
+
+			this.position.setPos(this.moteX[i], this.moteY[i], this.moteZ[i]);
+			if (cache.getBlockState(this.position).getMaterial().isSolid()) {
+				removeMote(i);
+				continue;
+			}
+
+			this.moteMotionX[i] *= DRAG;
+			this.moteMotionY[i] *= DRAG;
+			this.moteMotionZ[i] *= DRAG;
+			this.lightmap[i] = packLightmap(LightCache.getCombinedLight(this.position));
+			i++;
+		}
+	}
+
+	@Override
+	protected void renderMotes(final BufferBuilder buffer, final Entity entityIn, final float partialTicks,
+			final float rotX, final float rotZ, final float rotYZ, final float rotXY, final float rotXZ) {
+
+		for (int i = 0; i < this.moteCount; i++) {
+			final float x = (float) (this.motePrevX[i] + (this.moteX[i] - this.motePrevX[i]) * partialTicks
+					- this.viewX);
+			final float y = (float) (this.motePrevY[i] + (this.moteY[i] - this.motePrevY[i]) * partialTicks
+					- this.viewY);
+			final float z = (float) (this.motePrevZ[i] + (this.moteZ[i] - this.motePrevZ[i]) * partialTicks
+					- this.viewZ);
+			final float f4 = this.moteSize[i];
+			final float u1 = this.texU[i];
+			final float v1 = this.texV[i];
+
+			// Billboard facing the viewer
+			addQuad(buffer, x, y, z, rotX * f4, 0F, rotYZ * f4, rotXY * f4, rotZ * f4, rotXZ * f4, u1, u1 + 0.5F, v1,
+					v1 + 0.5F, this.color[i], this.lightmap[i]);
+		}
+	}
+
+	public static final ICollectionFactory<ParticleCollectionSprays> FACTORY = (world, texture) -> {
+		return new ParticleCollectionSprays(world, texture);
+	};
+
+}
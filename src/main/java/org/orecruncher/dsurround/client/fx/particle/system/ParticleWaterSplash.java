@@ -27,7 +27,6 @@ package org.orecruncher.dsurround.client.fx.particle.system;
 import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.client.fx.ParticleCollections;
 import org.orecruncher.dsurround.client.fx.WaterSplashJetEffect;
-import org.orecruncher.dsurround.client.fx.particle.mote.IParticleMote;
 import org.orecruncher.dsurround.client.sound.PositionedEmitter;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
 import org.orecruncher.dsurround.client.sound.Sounds;
@@ -137,10 +136,9 @@ public class ParticleWaterSplash extends ParticleJet {
 				final double motionX = xOffset * (motionStr / 20.0D);
 				final double motionZ = zOffset * (motionStr / 20.0D);
 				final double motionY = 0.1D + RANDOM.nextFloat() * motionStr / 20.0D;
-				final IParticleMote particle = ParticleCollections.addWaterSpray(this.world, this.posX + xOffset,
-						(this.posY), this.posZ + zOffset, motionX, motionY, motionZ);
 				// If we could not add the collection is full. No sense beating a dead horse.
-				if (particle == null)
+				if (!ParticleCollections.addWaterSpray(this.posX + xOffset, (this.posY), this.posZ + zOffset,
+						motionX, motionY, motionZ))
 					break;
 			}
 		}
@@ -30,6 +30,7 @@ import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.client.handlers.scanners.AlwaysOnBlockEffectScanner;
 import org.orecruncher.dsurround.client.handlers.scanners.ClientPlayerLocus;
 import org.orecruncher.dsurround.client.handlers.scanners.RandomBlockEffectScanner;
+import org.orecruncher.dsurround.lib.scanner.ScanExecutor;
 
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraftforge.common.MinecraftForge;
@@ -53,6 +54,12 @@ public final class AreaBlockEffectsHandler extends EffectHandlerBase {
 		this.locus,
 		ModOptions.effects.specialEffectRange
 	);
+	protected final ScanExecutor executor = new ScanExecutor(
+		"DSurround Block Scanner",
+		this.nearEffects,
+		this.farEffects,
+		this.alwaysOn
+	);
 	//@formatter:on
 
 	public AreaBlockEffectsHandler() {
@@ -61,9 +68,7 @@ public final class AreaBlockEffectsHandler extends EffectHandlerBase {
 
 	@Override
 	public void process(@Nonnull final EntityPlayer player) {
-		this.nearEffects.update();
-		this.farEffects.update();
-		this.alwaysOn.update();
+		this.executor.update(ModOptions.effects.enableParallelScan);
 	}
 
 	@Override
@@ -74,6 +79,7 @@ public final class AreaBlockEffectsHandler extends EffectHandlerBase {
 	@Override
 	public void onDisconnect() {
 		MinecraftForge.EVENT_BUS.unregister(this.alwaysOn);
+		this.executor.shutdown();
 	}
 
 }
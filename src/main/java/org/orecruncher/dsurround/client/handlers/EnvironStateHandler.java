@@ -37,10 +37,12 @@ import org.orecruncher.dsurround.capabilities.dimension.IDimensionInfo;
 import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
 import org.orecruncher.dsurround.capabilities.season.TemperatureRating;
 import org.orecruncher.dsurround.client.handlers.scanners.BattleScanner;
+import org.orecruncher.dsurround.client.handlers.scanners.BiomeField;
 import org.orecruncher.dsurround.client.handlers.scanners.CeilingCoverage;
 import org.orecruncher.dsurround.client.weather.Weather;
 import org.orecruncher.dsurround.event.DiagnosticEvent;
 import org.orecruncher.dsurround.expression.ExpressionEngine;
+import org.orecruncher.dsurround.registry.RegistryDataEvent;
 import org.orecruncher.dsurround.registry.RegistryManager;
 import org.orecruncher.dsurround.registry.biome.BiomeInfo;
 import org.orecruncher.dsurround.registry.biome.BiomeRegistry;
@@ -58,6 +60,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
@@ -92,6 +95,7 @@ public class EnvironStateHandler extends EffectHandlerBase {
 
 		public MinecraftClock clock = new MinecraftClock();
 		public BattleScanner battle = new BattleScanner();
+		public BiomeField biomeField = new BiomeField();
 	};
 	
 	public final static class EnvironState {
@@ -106,6 +110,10 @@ public class EnvironStateHandler extends EffectHandlerBase {
 			return data.battle;
 		}
 
+		public static BiomeField getBiomeField() {
+			return data.biomeField;
+		}
+
 		public static IDimensionInfo getDimensionInfo() {
 			return data.dimInfo;
 		}
@@ -319,6 +327,9 @@ public class EnvironStateHandler extends EffectHandlerBase {
 
 		data.dayCycle = DiurnalUtils.getCycle(world);
 
+		// Sample the biomes around the player for sounds and fog
+		data.biomeField.update();
+
 		// Resets cached script variables so they are updated
 		ExpressionEngine.instance().reset();
 	}
@@ -353,6 +364,18 @@ public class EnvironStateHandler extends EffectHandlerBase {
 		//@formatter:on
 	};
 
+	@SubscribeEvent
+	public void registryReload(@Nonnull final RegistryDataEvent.Reload event) {
+		if (event.reg instanceof BiomeRegistry)
+			EnvironState.getBiomeField().invalidate();
+	}
+
+	@SubscribeEvent
+	public void onEntityJoin(@Nonnull final EntityJoinWorldEvent event) {
+		if (event.getWorld().isRemote)
+			EnvironState.getBattleScanner().onEntityJoin(event.getEntity());
+	}
+
 	@SubscribeEvent(priority = EventPriority.HIGHEST)
 	public void diagnostics(final DiagnosticEvent.Gather event) {
 
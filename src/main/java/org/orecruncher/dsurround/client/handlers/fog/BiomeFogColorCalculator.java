@@ -26,19 +26,15 @@ package org.orecruncher.dsurround.client.handlers.fog;
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.handlers.scanners.BiomeField;
 import org.orecruncher.dsurround.client.weather.Weather;
-import org.orecruncher.dsurround.registry.biome.BiomeInfo;
-import org.orecruncher.dsurround.registry.biome.BiomeUtil;
 import org.orecruncher.lib.Color;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.chunk.IBlockAccessEx;
 import org.orecruncher.lib.math.MathStuff;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.GameSettings;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.MobEffects;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.client.event.EntityViewRenderEvent;
 import net.minecraftforge.common.ForgeModContainer;
@@ -48,14 +44,12 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class BiomeFogColorCalculator extends VanillaFogColorCalculator {
 
-	protected int posX;
-	protected int posZ;
-
-	// Last pass calculations. We can reuse if possible to avoid scanning
-	// the area, again.
+	// Last pass calculations. We can reuse if the biome field has not changed
+	// since.
+	protected int generation = -1;
+	protected int lastDistance = -1;
 	protected double weightBiomeFog;
 	protected Color biomeFogColor;
-	protected boolean doScan = true;
 
 	@Override
 	@Nonnull
@@ -63,9 +57,7 @@ public class BiomeFogColorCalculator extends VanillaFogColorCalculator {
 
 		final EntityLivingBase player = EnvironState.getPlayer();
 		final World world = EnvironState.getWorld();
-		final IBlockAccessEx provider = ClientChunkCache.instance();
-		final int playerX = MathStuff.floor(player.posX);
-		final int playerZ = MathStuff.floor(player.posZ);
+		final BiomeField field = EnvironState.getBiomeField();
 
 		// ForgeHooksClient.getSkyBlendColour()
 		final GameSettings settings = Minecraft.getMinecraft().gameSettings;
@@ -75,41 +67,14 @@ public class BiomeFogColorCalculator extends VanillaFogColorCalculator {
 			distance = ranges[MathStuff.clamp(settings.renderDistanceChunks, 0, ranges.length - 1)];
 		}
 
-		final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos(0, 0, 0);
-		this.doScan |= this.posX != playerX || this.posZ != playerZ;
-
-		if (this.doScan) {
-			this.doScan = false;
-			this.posX = playerX;
-			this.posZ = playerZ;
-			this.biomeFogColor = new Color(0, 0, 0);
-			this.weightBiomeFog = 0;
-
-			for (int x = -distance; x <= distance; ++x) {
-				for (int z = -distance; z <= distance; ++z) {
-					pos.setPos(playerX + x, 0, playerZ + z);
-
-					// If the chunk is not available doScan will be set true. This will force
-					// another scan on the next tick.
-					this.doScan = this.doScan | !provider.isAvailable(pos);
-					final BiomeInfo biome = BiomeUtil.getBiomeData(provider.getBiome(pos));
-					final Color color;
-
-					// Fetch the color we are dealing with.
-					if (biome.getHasDust()) {
-						color = biome.getDustColor();
-					} else if (biome.getHasFog()) {
-						color = biome.getFogColor();
-					} else {
-						color = null;
-					}
-
-					if (color != null) {
-						this.biomeFogColor.add(color);
-						this.weightBiomeFog += 1F;
-					}
-				}
-			}
+		// The field only covers so much area around the player
+		distance = Math.min(distance, BiomeField.RANGE);
+
+		if (this.generation != field.getGeneration() || this.lastDistance != distance) {
+			this.generation = field.getGeneration();
+			this.lastDistance = distance;
+			this.biomeFogColor = field.getFogColorSum(distance);
+			this.weightBiomeFog = field.getFogColorWeight(distance);
 		}
 
 		// If we have nothing then just return whatever Vanilla wanted
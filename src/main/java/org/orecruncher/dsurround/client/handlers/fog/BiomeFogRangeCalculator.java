@@ -26,21 +26,15 @@ package org.orecruncher.dsurround.client.handlers.fog;
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.handlers.scanners.BiomeField;
 import org.orecruncher.dsurround.client.weather.Weather;
-import org.orecruncher.dsurround.registry.biome.BiomeInfo;
-import org.orecruncher.dsurround.registry.biome.BiomeUtil;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.chunk.IBlockAccessEx;
-import org.orecruncher.lib.math.MathStuff;
-
-import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.util.math.BlockPos;
+
 import net.minecraftforge.client.event.EntityViewRenderEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 /**
- * Scans the biome area around the player to determine the fog parameters.
+ * Uses the biome field around the player to determine the fog parameters.
  */
 @SideOnly(Side.CLIENT)
 public class BiomeFogRangeCalculator extends VanillaFogRangeCalculator {
@@ -49,17 +43,15 @@ public class BiomeFogRangeCalculator extends VanillaFogRangeCalculator {
 	protected static final float DUST_FOG_IMPACT = 0.9F;
 
 	private static class Context {
-		public int posX;
-		public int posZ;
+		public int generation = -1;
 		public float rain;
 		public float lastFarPlane;
-		public boolean doScan = true;
 		public final FogResult cached = new FogResult();
 
-		public boolean returnCached(final int pX, final int pZ, final float r,
+		public boolean returnCached(final int gen, final float r,
 				@Nonnull final EntityViewRenderEvent.RenderFogEvent event) {
-			return !this.doScan && pX == this.posX && pZ == this.posZ && r == this.rain
-					&& this.lastFarPlane == event.getFarPlaneDistance() && this.cached.isValid(event);
+			return gen == this.generation && r == this.rain && this.lastFarPlane == event.getFarPlaneDistance()
+					&& this.cached.isValid(event);
 		}
 	}
 
@@ -73,48 +65,21 @@ public class BiomeFogRangeCalculator extends VanillaFogRangeCalculator {
 	@Nonnull
 	public FogResult calculate(@Nonnull final EntityViewRenderEvent.RenderFogEvent event) {
 
-		final EntityLivingBase player = EnvironState.getPlayer();
-		final IBlockAccessEx provider = ClientChunkCache.instance();
-		final int playerX = MathStuff.floor(player.posX);
-		final int playerZ = MathStuff.floor(player.posZ);
+		// The biome sampling is done by the field during the client tick
+		final BiomeField field = EnvironState.getBiomeField();
 		final float rainStr = Weather.getIntensityLevel();
 
 		final Context ctx = this.context[event.getFogMode() == -1 ? 0 : 1];
 
-		if (ctx.returnCached(playerX, playerZ, rainStr, event))
+		if (ctx.returnCached(field.getGeneration(), rainStr, event))
 			return ctx.cached;
 
-		final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos(0, 0, 0);
-
-		float fpDistanceBiomeFog = 0F;
-		float weightBiomeFog = 0;
-
-		final boolean isRaining = Weather.isRaining();
 		ctx.rain = rainStr;
-		ctx.doScan = false;
-
-		for (int x = -DISTANCE; x <= DISTANCE; ++x) {
-			for (int z = -DISTANCE; z <= DISTANCE; ++z) {
-				pos.setPos(playerX + x, 0, playerZ + z);
+		ctx.generation = field.getGeneration();
 
-				// If the chunk is not available doScan will be set true. This will force
-				// another scan on the next tick.
-				ctx.doScan = ctx.doScan | !provider.isAvailable(pos);
-				final BiomeInfo biome = BiomeUtil.getBiomeData(provider.getBiome(pos));
-
-				float distancePart = 1F;
-				final float weightPart = 1;
-
-				if (isRaining && biome.getHasDust()) {
-					distancePart = 1F - DUST_FOG_IMPACT * rainStr;
-				} else if (biome.getHasFog()) {
-					distancePart = biome.getFogDensity();
-				}
-
-				fpDistanceBiomeFog += distancePart;
-				weightBiomeFog += weightPart;
-			}
-		}
+		final float fpDistanceBiomeFog = field.getFogDistance(DISTANCE, Weather.isRaining(), rainStr,
+				DUST_FOG_IMPACT);
+		final float weightBiomeFog = BiomeField.getArea(DISTANCE);
 
 		final float weightMixed = (DISTANCE * 2 + 1) * (DISTANCE * 2 + 1);
 		final float weightDefault = weightMixed - weightBiomeFog;
@@ -128,8 +93,6 @@ public class BiomeFogRangeCalculator extends VanillaFogRangeCalculator {
 		final float farPlaneDistanceScale = (farPlaneDistanceScaleBiome * weightBiomeFog + 0.75f * weightDefault)
 				/ weightMixed;
 
-		ctx.posX = playerX;
-		ctx.posZ = playerZ;
 		ctx.lastFarPlane = event.getFarPlaneDistance();
 		farPlaneDistance = Math.min(farPlaneDistance, event.getFarPlaneDistance());
 
@@ -32,11 +32,16 @@ import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.client.fx.BlockEffect;
 import org.orecruncher.dsurround.lib.scanner.CuboidScanner;
 import org.orecruncher.dsurround.lib.scanner.ScanLocus;
+import org.orecruncher.dsurround.registry.RegistryDataEvent;
+import org.orecruncher.dsurround.registry.blockstate.BlockStateRegistry;
+import org.orecruncher.dsurround.registry.blockstate.BlockStateData;
 import org.orecruncher.dsurround.registry.blockstate.BlockStateUtil;
 import org.orecruncher.lib.chunk.IBlockAccessEx;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
 import net.minecraft.util.math.BlockPos;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -47,6 +52,10 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  * The CuboidScanner tries to only scan new blocks that come into range as the
  * player moves. Once all the blocks are scanned in the region (cuboid) it will
  * stop. It will start again once the player moves location.
+ *
+ * Blocks with always on effects are sparse so the scanner keeps a per section
+ * index of them. This avoids reading the large runs of air and stone when the
+ * player teleports or moves a long distance.
  */
 @SideOnly(Side.CLIENT)
 public class AlwaysOnBlockEffectScanner extends CuboidScanner {
@@ -54,11 +63,14 @@ public class AlwaysOnBlockEffectScanner extends CuboidScanner {
 	public AlwaysOnBlockEffectScanner(@Nonnull final ScanLocus locus, final int range) {
 		super(locus, "AlwaysOnBlockEffectScanner", range, 0);
 		setLogger(ModBase.log());
+		enableSectionIndex();
 	}
 
 	@Override
 	protected boolean interestingBlock(final IBlockState state) {
-		return BlockStateUtil.getStateData(state).hasAlwaysOnEffects();
+		// Runs on the scan workers so a missing entry must not reload the registry
+		// in place.
+		return BlockStateUtil.<BlockStateData>getStateData(state, Minecraft.getMinecraft()).hasAlwaysOnEffects();
 	}
 
 	@Override
@@ -72,4 +84,14 @@ public class AlwaysOnBlockEffectScanner extends CuboidScanner {
 		}
 	}
 
+	/**
+	 * The set of states with always on effects may have changed so the index needs
+	 * to be rebuilt.
+	 */
+	@SubscribeEvent
+	public void registryReload(@Nonnull final RegistryDataEvent.Reload event) {
+		if (event.reg instanceof BlockStateRegistry)
+			invalidateSectionIndex();
+	}
+
 }
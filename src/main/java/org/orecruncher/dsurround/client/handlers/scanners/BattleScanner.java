@@ -24,17 +24,19 @@
 
 package org.orecruncher.dsurround.client.handlers.scanners;
 
-import java.util.List;
-
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.capabilities.CapabilityEntityData;
 import org.orecruncher.dsurround.capabilities.entitydata.IEntityData;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.lib.collections.ObjectArray;
 
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.boss.EntityDragon;
 import net.minecraft.entity.boss.EntityWither;
 import net.minecraft.entity.monster.EntityGolem;
@@ -42,8 +44,10 @@ import net.minecraft.entity.monster.EntityPolarBear;
 import net.minecraft.entity.monster.IMob;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
@@ -52,6 +56,11 @@ import net.minecraftforge.fml.relauncher.SideOnly;
  * a battle is taking place.  This does not mean the player is
  * being attacked - only that there are entities that are
  * fighting nearby.
+ *
+ * Regular mobs are found through the entity lists of the chunk
+ * sections around the player, which the world keeps current as
+ * entities spawn, move and die.  Bosses have a much larger range
+ * so they are tracked as they join the world instead.
  */
 @SideOnly(Side.CLIENT)
 public class BattleScanner {
@@ -61,8 +70,15 @@ public class BattleScanner {
 	private static final int BOSS_RANGE = 65536; // 256 block range
 	private static final int MINI_BOSS_RANGE = 16384; // 128 block range
 	private static final int MOB_RANGE = 400; // 20 block range
+	private static final int MOB_SCAN = 20;
 	private static final int BATTLE_TIMER_EXPIRY = 10;
 
+	// Line of sight checks are ray traces so only a handful are done
+	// per tick.  Results are reused until they go stale.
+	private static final int SIGHT_CHECKS_PER_TICK = 8;
+	private static final int SIGHT_REFRESH = 10;
+	private static final int SIGHT_PURGE_INTERVAL = 100;
+
 	protected int battleTimer;
 	protected boolean inBattle;
 	protected boolean isWither;
@@ -70,6 +86,15 @@ public class BattleScanner {
 	protected boolean isBoss;
 	protected int hostileCount;
 
+	protected final ObjectArray<Entity> bosses = new ObjectArray<>();
+	// Entity ID -> (tick checked << 1) | can see
+	protected final Int2LongOpenHashMap sightCache = new Int2LongOpenHashMap();
+	protected int sightBudget;
+
+	public BattleScanner() {
+		this.sightCache.defaultReturnValue(-1L);
+	}
+
 	public void reset() {
 		this.inBattle = false;
 		this.isWither = false;
@@ -110,6 +135,20 @@ public class BattleScanner {
 		return false;
 	}
 
+	/**
+	 * Called as entities join the client world. Bosses are remembered so they
+	 * can be checked without a search of the loaded entity list.
+	 */
+	public void onEntityJoin(@Nonnull final Entity entity) {
+		if (entity instanceof EntityPlayerSP) {
+			// New world for the player
+			this.bosses.clear();
+			this.sightCache.clear();
+		} else if (isApplicableType(entity) && !entity.isNonBoss() && !this.bosses.contains(entity)) {
+			this.bosses.add(entity);
+		}
+	}
+
 	public void update(final EntityPlayer player) {
 
 		if (!ModOptions.sound.enableBattleMusic) {
@@ -118,7 +157,8 @@ public class BattleScanner {
 		}
 
 		final World world = player.getEntityWorld();
-		final BlockPos playerPos = new BlockPos(player.posX, player.getEntityBoundingBox().minY, player.posZ);;
+		final BlockPos playerPos = new BlockPos(player.posX, player.getEntityBoundingBox().minY, player.posZ);
+		final int tickCounter = EnvironState.getTickCounter();
 
 		boolean inBattle = false;
 		boolean isBoss = false;
@@ -126,60 +166,58 @@ public class BattleScanner {
 		boolean isWither = false;
 		int hostileCount = 0;
 
-		final List<Entity> entities = world.getLoadedEntityList();
-		for (final Entity e : entities) {
-
-			// The player isn't a candidate
-			if (e == player)
-				continue;
-
-			// Gotta be the right type of entity. Do this first
-			// to filter out all the animals.
-			if (!isApplicableType(e))
+		// Bosses first.  Once a Wither is found the boss state is decided.
+		// Bosses that have moved out of range are dropped; the client world
+		// will have let go of them well before they could be heard again, and
+		// they are picked up again when they rejoin.
+		this.bosses.removeIf(e -> e.isDead || e.getEntityWorld() != world || e.getDistanceSq(playerPos) > BOSS_RANGE);
+		for (int i = 0; i < this.bosses.size(); i++) {
+			final Entity e = this.bosses.get(i);
+			if (e.isInvisible() || e.isOnSameTeam(player))
 				continue;
 
-			// Has to be within a snowballs chance. Boss range is
-			// the farthest range.
 			final double dist = e.getDistanceSq(playerPos);
-			if (dist > BOSS_RANGE)
-				continue;
 
-			// Invisible things do not trigger as well as the current
-			// player and team members.
-			if (e.isInvisible() || e.isOnSameTeam(player))
+			hostileCount++;
+			if (isWither)
 				continue;
 
-			if (!e.isNonBoss()) {
-				if (e instanceof EntityWither) {
-					inBattle = isWither = isBoss = true;
-					isDragon = false;
-				} else if (e instanceof EntityDragon) {
-					if (!isWither)
-						inBattle = isDragon = isBoss = true;
-				} else if (dist <= MINI_BOSS_RANGE) {
-					if (!(isDragon || isWither))
-						inBattle = isBoss = true;
-				}
-				hostileCount++;
-			} else if (dist > MOB_RANGE) {
-				// If the mob is outside of our scan range we ignore it
-				continue;
-			} else {
-				// Use entity data to determine if the mob is attacking
-				final IEntityData data = e.getCapability(CapabilityEntityData.ENTITY_DATA, null);
-				if (data != null && data.isAttacking()) {
-					// Only in battle if the entity sees the player, or the
-					// player sees the entity
-					final EntityLiving living = (EntityLiving) e;
-					if (living.getEntitySenses().canSee(player) || player.canEntityBeSeen(living)) {
-						inBattle = true;
-						hostileCount++;
-					}
-				}
+			if (e instanceof EntityWither) {
+				inBattle = isWither = isBoss = true;
+				isDragon = false;
+			} else if (e instanceof EntityDragon) {
+				inBattle = isDragon = isBoss = true;
+			} else if (dist <= MINI_BOSS_RANGE) {
+				if (!isDragon)
+					inBattle = isBoss = true;
 			}
 		}
 
-		final int tickCounter = EnvironState.getTickCounter();
+		// Regular mobs from the chunk sections in range of the player
+		this.sightBudget = SIGHT_CHECKS_PER_TICK;
+		final int minX = MathHelper.floor(player.posX - MOB_SCAN) >> 4;
+		final int maxX = MathHelper.floor(player.posX + MOB_SCAN) >> 4;
+		final int minZ = MathHelper.floor(player.posZ - MOB_SCAN) >> 4;
+		final int maxZ = MathHelper.floor(player.posZ + MOB_SCAN) >> 4;
+		final int minY = MathHelper.clamp(MathHelper.floor(player.posY - MOB_SCAN) >> 4, 0, 15);
+		final int maxY = MathHelper.clamp(MathHelper.floor(player.posY + MOB_SCAN) >> 4, 0, 15);
+
+		for (int cx = minX; cx <= maxX; cx++)
+			for (int cz = minZ; cz <= maxZ; cz++) {
+				final Chunk chunk = world.getChunkProvider().getLoadedChunk(cx, cz);
+				if (chunk == null)
+					continue;
+				for (int cy = minY; cy <= maxY; cy++)
+					for (final EntityLivingBase e : chunk.getEntityLists()[cy].getByClass(EntityLivingBase.class)) {
+						if (isAttackingHostile(e, player, playerPos, tickCounter)) {
+							inBattle = true;
+							hostileCount++;
+						}
+					}
+			}
+
+		if (tickCounter % SIGHT_PURGE_INTERVAL == 0)
+			purgeSightCache(tickCounter);
 
 		if (inBattle) {
 			this.inBattle = inBattle;
@@ -193,6 +231,58 @@ public class BattleScanner {
 		}
 	}
 
+	private boolean isAttackingHostile(@Nonnull final EntityLivingBase e, @Nonnull final EntityPlayer player,
+			@Nonnull final BlockPos playerPos, final int tickCounter) {
+
+		// The player isn't a candidate, and bosses have been handled
+		if (e == player || !e.isNonBoss())
+			return false;
+
+		// Gotta be the right type of entity. Do this first
+		// to filter out all the animals.
+		if (!(e instanceof EntityLiving) || !isApplicableType(e))
+			return false;
+
+		// If the mob is outside of our scan range we ignore it
+		if (e.getDistanceSq(playerPos) > MOB_RANGE)
+			return false;
+
+		// Invisible things do not trigger as well as the current
+		// player and team members.
+		if (e.isInvisible() || e.isOnSameTeam(player))
+			return false;
+
+		// Use entity data to determine if the mob is attacking
+		final IEntityData data = e.getCapability(CapabilityEntityData.ENTITY_DATA, null);
+		if (data == null || !data.isAttacking())
+			return false;
+
+		// Only in battle if the entity sees the player, or the
+		// player sees the entity
+		return canSee((EntityLiving) e, player, tickCounter);
+	}
+
+	private boolean canSee(@Nonnull final EntityLiving living, @Nonnull final EntityPlayer player,
+			final int tickCounter) {
+		final long cached = this.sightCache.get(living.getEntityId());
+		if (cached >= 0 && (tickCounter - (int) (cached >> 1) < SIGHT_REFRESH || this.sightBudget <= 0))
+			return (cached & 1) != 0;
+		// Out of ray traces for this tick.  Assume the mob can be seen so a
+		// busy fight does not drop out of battle; it gets a real check on a
+		// later tick.
+		if (this.sightBudget <= 0)
+			return true;
+
+		this.sightBudget--;
+		final boolean result = living.getEntitySenses().canSee(player) || player.canEntityBeSeen(living);
+		this.sightCache.put(living.getEntityId(), ((long) tickCounter << 1) | (result ? 1 : 0));
+		return result;
+	}
+
+	private void purgeSightCache(final int tickCounter) {
+		this.sightCache.values().removeIf(v -> tickCounter - (int) (v >> 1) >= SIGHT_PURGE_INTERVAL);
+	}
+
 	@Override
 	@Nonnull
 	public String toString() {
@@ -0,0 +1,351 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.handlers.scanners;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.registry.biome.BiomeInfo;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.Color;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+import org.orecruncher.lib.chunk.IBlockAccessEx;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import net.minecraft.util.ITickable;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Samples the biomes of the columns around the player once per tick so that
+ * biome sounds and the fog calculators do not have to. The biome of each
+ * column is held in a window indexed by world coordinate modulo the window
+ * size. When the player moves only the columns that enter the window are
+ * sampled, and each one replaces the column that left from the same slot.
+ *
+ * Summed-area tables of the fog and dust properties are built from the window
+ * whenever it changes, so the fog calculators can get the totals for any
+ * radius up to RANGE with a handful of array reads. The weights of the biomes
+ * over the full window are kept up to date as columns are replaced.
+ */
+@SideOnly(Side.CLIENT)
+public final class BiomeField implements ITickable {
+
+	public static final int RANGE = 20;
+	private static final int SIZE = RANGE * 2 + 1;
+	private static final int AREA = SIZE * SIZE;
+	private static final int STRIDE = SIZE + 1;
+	private static final int MAX_RESAMPLE_PER_TICK = 64;
+	private static final long NO_COLUMN = Long.MIN_VALUE;
+
+	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	// Biome sampled for each column of the window. Columns that were sampled
+	// when their chunk was not loaded are flagged so they can be resampled.
+	private final BiomeInfo[] window = new BiomeInfo[AREA];
+	private final boolean[] pending = new boolean[AREA];
+	private int pendingCount;
+
+	// Columns waiting to be resampled, and the column each slot last queued.
+	// Entries whose slot has since been taken by another column are dropped
+	// when they come up.
+	private final LongArrayFIFOQueue resampleQueue = new LongArrayFIFOQueue();
+	private final long[] queuedColumn = new long[AREA];
+	private boolean valid = false;
+	private boolean dirty = true;
+	private int generation = 0;
+
+	private final Reference2FloatOpenHashMap<BiomeInfo> weights = new Reference2FloatOpenHashMap<>();
+
+	// Summed-area tables for the window as centered on the player. Entry (i, j)
+	// holds the total for the columns [0, i) x [0, j).
+	private final float[] fogClear = new float[STRIDE * STRIDE];
+	private final float[] fogDust = new float[STRIDE * STRIDE];
+	private final float[] dustCount = new float[STRIDE * STRIDE];
+	private final float[] colorRed = new float[STRIDE * STRIDE];
+	private final float[] colorGreen = new float[STRIDE * STRIDE];
+	private final float[] colorBlue = new float[STRIDE * STRIDE];
+	private final float[] colorCount = new float[STRIDE * STRIDE];
+
+	private World world = null;
+	private int dimension = 0;
+	private int centerX;
+	private int centerZ;
+
+	@Override
+	public void update() {
+		final BlockPos position = EnvironState.getPlayerPosition();
+		final World w = EnvironState.getWorld();
+		final int dX = position.getX() - this.centerX;
+		final int dZ = position.getZ() - this.centerZ;
+
+		if (!this.valid || this.world != w || this.dimension != EnvironState.getDimensionId()
+				|| Math.abs(dX) > RANGE || Math.abs(dZ) > RANGE) {
+			this.world = w;
+			this.dimension = EnvironState.getDimensionId();
+			this.centerX = position.getX();
+			this.centerZ = position.getZ();
+			fullSurvey();
+		} else {
+			if (dX != 0 || dZ != 0) {
+				slide(position.getX(), position.getZ());
+				this.centerX = position.getX();
+				this.centerZ = position.getZ();
+				this.dirty = true;
+			}
+			if (this.pendingCount > 0)
+				resamplePending();
+		}
+
+		if (this.dirty) {
+			buildTables();
+			this.dirty = false;
+			this.generation++;
+		}
+	}
+
+	/**
+	 * Forces a full survey on the next update. Needed when the biome data has
+	 * been reloaded.
+	 */
+	public void invalidate() {
+		this.valid = false;
+	}
+
+	/**
+	 * Changes every time the content of the field changes. Consumers can use it
+	 * to tell if results they derived from the field are still good.
+	 */
+	public int getGeneration() {
+		return this.generation;
+	}
+
+	/**
+	 * Indicates whether all the columns of the window were sampled from loaded
+	 * chunks.
+	 */
+	public boolean isComplete() {
+		return this.pendingCount == 0;
+	}
+
+	/**
+	 * Weights of the biomes over the full window. The map is updated in place as
+	 * the field changes.
+	 */
+	@Nonnull
+	public Reference2FloatOpenHashMap<BiomeInfo> getBiomeWeights() {
+		return this.weights;
+	}
+
+	public static int getArea(final int radius) {
+		final int size = Math.min(radius, RANGE) * 2 + 1;
+		return size * size;
+	}
+
+	/**
+	 * Total of the fog distance factors of the columns within the radius. A
+	 * column contributes its fog density if it has fog, and 1 if not. If it is
+	 * raining columns with dust contribute 1 - dustImpact * rainStrength instead.
+	 */
+	public float getFogDistance(final int radius, final boolean isRaining, final float rainStrength,
+			final float dustImpact) {
+		final float clear = query(this.fogClear, radius);
+		if (isRaining)
+			return clear + query(this.dustCount, radius) * (1F - dustImpact * rainStrength);
+		return clear + query(this.fogDust, radius);
+	}
+
+	/**
+	 * Number of columns within the radius that have a fog or dust color.
+	 */
+	public float getFogColorWeight(final int radius) {
+		return query(this.colorCount, radius);
+	}
+
+	/**
+	 * Sum of the fog or dust colors of the columns within the radius.
+	 */
+	@Nonnull
+	public Color getFogColorSum(final int radius) {
+		return new Color(query(this.colorRed, radius), query(this.colorGreen, radius),
+				query(this.colorBlue, radius));
+	}
+
+	private float query(@Nonnull final float[] table, final int radius) {
+		final int r = Math.min(radius, RANGE);
+		final int lo = RANGE - r;
+		final int hi = RANGE + r + 1;
+		return table[hi * STRIDE + hi] - table[lo * STRIDE + hi] - table[hi * STRIDE + lo]
+				+ table[lo * STRIDE + lo];
+	}
+
+	private static int slot(final int x, final int z) {
+		return Math.floorMod(x, SIZE) * SIZE + Math.floorMod(z, SIZE);
+	}
+
+	private void fullSurvey() {
+		this.weights.clear();
+		Arrays.fill(this.window, null);
+		Arrays.fill(this.pending, false);
+		this.pendingCount = 0;
+		Arrays.fill(this.queuedColumn, NO_COLUMN);
+		this.resampleQueue.clear();
+
+		final IBlockAccessEx provider = ClientChunkCache.instance();
+		for (int x = this.centerX - RANGE; x <= this.centerX + RANGE; x++)
+			for (int z = this.centerZ - RANGE; z <= this.centerZ + RANGE; z++)
+				sample(provider, x, z);
+
+		this.valid = true;
+		this.dirty = true;
+	}
+
+	/**
+	 * Samples the columns that are in the window centered on the new position
+	 * but not in the window centered on the last.
+	 */
+	private void slide(final int newX, final int newZ) {
+		final IBlockAccessEx provider = ClientChunkCache.instance();
+		final int oldMinX = this.centerX - RANGE;
+		final int oldMaxX = this.centerX + RANGE;
+		final int oldMinZ = this.centerZ - RANGE;
+		final int oldMaxZ = this.centerZ + RANGE;
+
+		for (int x = newX - RANGE; x <= newX + RANGE; x++) {
+			final boolean newColumn = x < oldMinX || x > oldMaxX;
+			for (int z = newZ - RANGE; z <= newZ + RANGE; z++)
+				if (newColumn || z < oldMinZ || z > oldMaxZ)
+					sample(provider, x, z);
+		}
+	}
+
+	private static long column(final int x, final int z) {
+		return ((long) x << 32) | (z & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Resamples a limited number of the queued columns. Columns that are still
+	 * not available go to the back of the queue.
+	 */
+	private void resamplePending() {
+		final IBlockAccessEx provider = ClientChunkCache.instance();
+		for (int count = Math.min(this.resampleQueue.size(), MAX_RESAMPLE_PER_TICK); count > 0; count--) {
+			final long column = this.resampleQueue.dequeueLong();
+			final int x = (int) (column >> 32);
+			final int z = (int) column;
+			final int idx = slot(x, z);
+			if (this.queuedColumn[idx] != column || !this.pending[idx])
+				continue;
+			sample(provider, x, z);
+			if (this.pending[idx])
+				this.resampleQueue.enqueue(column);
+		}
+	}
+
+	/**
+	 * Samples the biome of the column and places it in the window, replacing the
+	 * column that previously held the slot.
+	 */
+	private void sample(@Nonnull final IBlockAccessEx provider, final int x, final int z) {
+		final int idx = slot(x, z);
+		this.mutable.setPos(x, 0, z);
+
+		final boolean available = provider.isAvailable(this.mutable);
+		if (this.pending[idx] != !available) {
+			this.pending[idx] = !available;
+			this.pendingCount += available ? -1 : 1;
+		}
+
+		final long column = column(x, z);
+		if (available) {
+			this.queuedColumn[idx] = NO_COLUMN;
+		} else if (this.queuedColumn[idx] != column) {
+			this.queuedColumn[idx] = column;
+			this.resampleQueue.enqueue(column);
+		}
+
+		final BiomeInfo info = BiomeUtil.getBiomeData(provider.getBiome(this.mutable));
+		final BiomeInfo old = this.window[idx];
+		if (old != info) {
+			if (old != null && this.weights.addTo(old, -1F) <= 1F)
+				this.weights.removeFloat(old);
+			this.weights.addTo(info, 1F);
+			this.window[idx] = info;
+			this.dirty = true;
+		}
+	}
+
+	private void buildTables() {
+		final int minX = this.centerX - RANGE;
+		final int minZ = this.centerZ - RANGE;
+
+		for (int i = 0; i < SIZE; i++) {
+			float rowClear = 0, rowDust = 0, rowDustCount = 0;
+			float rowRed = 0, rowGreen = 0, rowBlue = 0, rowColorCount = 0;
+
+			for (int j = 0; j < SIZE; j++) {
+				final BiomeInfo biome = this.window[slot(minX + i, minZ + j)];
+				final float density = biome.getHasFog() ? biome.getFogDensity() : 1F;
+				if (biome.getHasDust()) {
+					rowDust += density;
+					rowDustCount += 1F;
+				} else {
+					rowClear += density;
+				}
+
+				final Color color;
+				if (biome.getHasDust())
+					color = biome.getDustColor();
+				else if (biome.getHasFog())
+					color = biome.getFogColor();
+				else
+					color = null;
+
+				if (color != null) {
+					rowRed += color.red;
+					rowGreen += color.green;
+					rowBlue += color.blue;
+					rowColorCount += 1F;
+				}
+
+				final int idx = (i + 1) * STRIDE + j + 1;
+				final int above = i * STRIDE + j + 1;
+				this.fogClear[idx] = this.fogClear[above] + rowClear;
+				this.fogDust[idx] = this.fogDust[above] + rowDust;
+				this.dustCount[idx] = this.dustCount[above] + rowDustCount;
+				this.colorRed[idx] = this.colorRed[above] + rowRed;
+				this.colorGreen[idx] = this.colorGreen[above] + rowGreen;
+				this.colorBlue[idx] = this.colorBlue[above] + rowBlue;
+				this.colorCount[idx] = this.colorCount[above] + rowColorCount;
+			}
+		}
+	}
+
+}
@@ -25,67 +25,38 @@ package org.orecruncher.dsurround.client.handlers.scanners;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.registry.biome.BiomeInfo;
-import org.orecruncher.dsurround.registry.biome.BiomeUtil;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.chunk.IBlockAccessEx;
 
 import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
 import net.minecraft.util.ITickable;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.biome.Biome;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 /**
  * Performs an area scan around the to calculate the relative weights of the
- * biomes in the local area.
+ * biomes in the local area. The sampling itself is done by the BiomeField.
  */
 @SideOnly(Side.CLIENT)
 public final class BiomeScanner implements ITickable {
 
-	private static final int BIOME_SURVEY_RANGE = 20;
-	private static final int MAX_BIOME_AREA = (int) Math.pow(BIOME_SURVEY_RANGE * 2 + 1, 2);
-
-	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+	private final Reference2FloatOpenHashMap<BiomeInfo> fakeWeights = new Reference2FloatOpenHashMap<>();
 
 	private int biomeArea;
-	private Reference2FloatOpenHashMap<BiomeInfo> weights = new Reference2FloatOpenHashMap<>();
-
-	// "Finger print" of the last area survey.
-	private BiomeInfo surveyedBiome = null;
-	private int surveyedDimension = 0;
-	private BlockPos surveyedPosition = BlockPos.ORIGIN;
+	private Reference2FloatOpenHashMap<BiomeInfo> weights = this.fakeWeights;
 
 	@Override
 	public void update() {
-		final BlockPos position = EnvironState.getPlayerPosition();
-
-		if (this.surveyedBiome != EnvironState.getPlayerBiome()
-				|| this.surveyedDimension != EnvironState.getDimensionId()
-				|| this.surveyedPosition.compareTo(position) != 0) {
-
-			this.surveyedBiome = EnvironState.getPlayerBiome();
-			this.surveyedDimension = EnvironState.getDimensionId();
-			this.surveyedPosition = position;
-
-			this.biomeArea = 0;
-			this.weights = new Reference2FloatOpenHashMap<>();
-
-			if (EnvironState.getPlayerBiome().isFake()) {
-				this.biomeArea = 1;
-				this.weights.put(EnvironState.getPlayerBiome(), 1);
-			} else {
-				final IBlockAccessEx provider = ClientChunkCache.instance();
-				for (int dX = -BIOME_SURVEY_RANGE; dX <= BIOME_SURVEY_RANGE; dX++)
-					for (int dZ = -BIOME_SURVEY_RANGE; dZ <= BIOME_SURVEY_RANGE; dZ++) {
-						this.mutable.setPos(this.surveyedPosition.getX() + dX, 0, this.surveyedPosition.getZ() + dZ);
-						final Biome biome = provider.getBiome(this.mutable);
-						final BiomeInfo info = BiomeUtil.getBiomeData(biome);
-						this.weights.addTo(info, 1F);
-					}
+		final BiomeInfo playerBiome = EnvironState.getPlayerBiome();
 
-				this.biomeArea = MAX_BIOME_AREA;
+		if (playerBiome.isFake()) {
+			if (this.fakeWeights.size() != 1 || !this.fakeWeights.containsKey(playerBiome)) {
+				this.fakeWeights.clear();
+				this.fakeWeights.put(playerBiome, 1);
 			}
+			this.weights = this.fakeWeights;
+			this.biomeArea = 1;
+		} else {
+			this.weights = EnvironState.getBiomeField().getBiomeWeights();
+			this.biomeArea = BiomeField.getArea(BiomeField.RANGE);
 		}
 	}
 
@@ -38,6 +38,7 @@ import org.orecruncher.dsurround.registry.blockstate.BlockStateUtil;
 import org.orecruncher.lib.chunk.IBlockAccessEx;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
 import net.minecraft.util.math.BlockPos;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -67,7 +68,9 @@ public class RandomBlockEffectScanner extends RandomScanner {
 
 	@Override
 	protected boolean interestingBlock(@Nonnull final IBlockState state) {
-		return BlockStateUtil.getStateData(state).hasSoundsOrEffects();
+		// Runs on the scan workers so a missing entry must not reload the registry
+		// in place.
+		return BlockStateUtil.<BlockStateData>getStateData(state, Minecraft.getMinecraft()).hasSoundsOrEffects();
 	}
 
 	@Override
@@ -24,8 +24,6 @@
 
 package org.orecruncher.dsurround.client.renderer.weather;
 
-import java.util.Random;
-
 import javax.annotation.Nonnull;
 
 import org.lwjgl.opengl.GL11;
@@ -33,14 +31,11 @@ import org.orecruncher.dsurround.capabilities.CapabilityDimensionInfo;
 import org.orecruncher.dsurround.capabilities.CapabilitySeasonInfo;
 import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
 import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.dsurround.client.fx.LightCache;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.client.weather.Weather;
-import org.orecruncher.dsurround.client.weather.compat.RandomThings;
 import org.orecruncher.dsurround.registry.biome.BiomeInfo;
-import org.orecruncher.dsurround.registry.biome.BiomeUtil;
 import org.orecruncher.lib.Color;
-import org.orecruncher.lib.chunk.ClientChunkCache;
-import org.orecruncher.lib.random.XorShiftRandom;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.BufferBuilder;
@@ -60,204 +55,170 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class StormRenderer {
 
-	private static final double[] RAIN_X_COORDS = new double[1024];
-	private static final double[] RAIN_Y_COORDS = new double[1024];
-
-	static {
-		for (int i = 0; i < 32; ++i) {
-			for (int j = 0; j < 32; ++j) {
-				final double f2 = j - 16;
-				final double f3 = i - 16;
-				final double f4 = MathHelper.sqrt(f2 * f2 + f3 * f3);
-				RAIN_X_COORDS[i << 5 | j] = (-f3 / f4) * 0.5D;
-				RAIN_Y_COORDS[i << 5 | j] = (f2 / f4) * 0.5D;
-			}
-		}
-	}
+	// Rebuild periodically so light and column refreshes are picked up
+	private static final int REBUILD_TICKS = 20;
 
-	private final Random random = new XorShiftRandom();
+	private final WeatherGeometry geometry = new WeatherGeometry();
 	private final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
 
-	private static ResourceLocation effectTexture = null;
-	private static boolean isDrawing = false;
-	private static BufferBuilder worldrenderer = null;
-	private static int locY;
-
-	private static void setupForRender(@Nonnull final ResourceLocation r) {
-		if (effectTexture != r) {
-			if (worldrenderer == null) {
-				worldrenderer = Tessellator.getInstance().getBuffer();
-				final RenderManager manager = Minecraft.getMinecraft().getRenderManager();
-				worldrenderer.setTranslation(-manager.viewerPosX, -manager.viewerPosY, -manager.viewerPosZ);
-				locY = MathHelper.floor(manager.viewerPosY);
-			}
-			if (isDrawing)
-				Tessellator.getInstance().draw();
-			effectTexture = r;
-			Minecraft.getMinecraft().getTextureManager().bindTexture(r);
-			worldrenderer.begin(GL11.GL_QUADS, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
-			isDrawing = true;
-		}
-	}
-
-	private static void closeRender() {
-		if (isDrawing)
-			Tessellator.getInstance().draw();
-		if (worldrenderer != null)
-			worldrenderer.setTranslation(0.0D, 0.0D, 0.0D);
-		isDrawing = false;
-		effectTexture = null;
-		worldrenderer = null;
+	// The world is identified by dimension rather than held on to. Unloading a
+	// client world changes the column cache version, so a new world in the same
+	// dimension still causes a rebuild.
+	private int builtDimension = Integer.MIN_VALUE;
+	private int builtX;
+	private int builtY;
+	private int builtZ;
+	private int builtLocY;
+	private int builtRange;
+	private int builtVersion;
+	private int builtTick;
+
+	private boolean needsRebuild(@Nonnull final World world, @Nonnull final BlockPos playerPos, final int locY,
+			final int range) {
+		final int tick = EnvironState.getTickCounter();
+		return this.builtDimension != world.provider.getDimension() || this.builtX != playerPos.getX()
+				|| this.builtY != playerPos.getY() || this.builtZ != playerPos.getZ() || this.builtLocY != locY
+				|| this.builtRange != range
+				|| this.builtVersion != WeatherColumnCache.getVersion() || tick - this.builtTick >= REBUILD_TICKS
+				|| tick < this.builtTick;
 	}
 
 	/**
-	 * Render rain and snow
+	 * Lays out the quads for the columns around the player.
 	 */
-	public void render(@Nonnull final EntityRenderer renderer, final float partialTicks) {
-
-		// Don't use EnvironState - may not have been initialized when rendering
-		// starts.
-		final Minecraft mc = Minecraft.getMinecraft();
-		final World world = mc.world;
-
-		if (!CapabilityDimensionInfo.getCapability(world).hasWeather())
-			return;
-
-		final float rainStrength = Weather.getIntensityLevel();
-		if (rainStrength <= 0.0F)
-			return;
-
-		final float alphaRatio = rainStrength / Weather.getMaxIntensityLevel();// world.getRainStrength(partialTicks);
-
-		renderer.enableLightmap();
+	private void rebuild(@Nonnull final World world, @Nonnull final ISeasonInfo season,
+			@Nonnull final BlockPos playerPos, final int locY, final int range) {
 
-		GlStateManager.disableCull();
-		GlStateManager.glNormal3f(0.0F, 1.0F, 0.0F);
-		GlStateManager.enableBlend();
-		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA,
-				GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE,
-				GlStateManager.DestFactor.ZERO);
-		GlStateManager.alphaFunc(516, 0.1F);
-
-		final int range = mc.gameSettings.fancyGraphics ? 10 : 5;
-		final int renderCount = RenderWeather.getRendererUpdateCount();
-		final float f1 = renderCount + partialTicks;
-
-		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
-
-		final ISeasonInfo season = CapabilitySeasonInfo.getCapability(world);
-		final Weather.Properties props = Weather.getWeatherProperties();
-		final Entity entity = mc.getRenderViewEntity();
-
-		final BlockPos playerPos = EnvironState.getPlayerPosition();
 		final int playerX = playerPos.getX();
 		final int playerY = playerPos.getY();
 		final int playerZ = playerPos.getZ();
 
+		this.geometry.begin(playerX, playerZ);
+
 		for (int gridZ = playerZ - range; gridZ <= playerZ + range; ++gridZ) {
 			for (int gridX = playerX - range; gridX <= playerX + range; ++gridX) {
-				final int idx = (gridZ - playerZ + 16) * 32 + gridX - playerX + 16;
-				final double rainX = RAIN_X_COORDS[idx];
-				final double rainY = RAIN_Y_COORDS[idx];
-				this.mutable.setPos(gridX, 0, gridZ);
+				final WeatherColumnCache.Column column = WeatherColumnCache.getColumn(world, season, gridX, gridZ);
 
-				if (!RandomThings.shouldRain(world, this.mutable))
+				if (!column.canRain())
 					continue;
 
-				final BiomeInfo biome = BiomeUtil.getBiomeData(ClientChunkCache.instance().getBiome(this.mutable));
+				final BiomeInfo biome = column.getBiome();
 
-				final int precipHeight = season.getPrecipitationHeight(this.mutable).getY();
+				final int precipHeight = column.getPrecipitationHeight();
 				final int k2 = Math.max(playerY - range, precipHeight);
 				final int l2 = Math.max(playerY + range, precipHeight);
 				if (k2 == l2)
 					continue;
 
-				this.mutable.setPos(gridX, k2, gridZ);
-
-				final PrecipitationType pt = season.getPrecipitationType(this.mutable, biome);
+				final PrecipitationType pt = column.getPrecipitationType(k2);
 				if (pt == PrecipitationType.NONE)
 					continue;
 
-				final int seed = (gridZ << 16) ^ gridX;
-				this.random.setSeed(seed);
-				final int i3 = Math.max(precipHeight, locY);
-
-				final double d6 = gridX + 0.5F - entity.posX;
-				final double d7 = gridZ + 0.5F - entity.posZ;
-				final float f3 = MathHelper.sqrt(d6 * d6 + d7 * d7) / range;
-				this.mutable.setPos(gridX, i3, gridZ);
-
-				final int combinedLight = ClientChunkCache.instance().getCombinedLight(this.mutable, 0);
+				this.mutable.setPos(gridX, Math.max(precipHeight, locY), gridZ);
+				final int combinedLight = LightCache.getCombinedLight(this.mutable);
 
 				if (pt == PrecipitationType.RAIN) {
-
-					setupForRender(props.getRainTexture());
-
-					// d8 makes the rain fall down. Assumes texture height of 512 pixels.
-					final double d5 = ((double) (renderCount + seed & 31) + (double) partialTicks)
-							/ 32.0D * (3.0D + this.random.nextDouble());
-
-					final float alpha = ((1.0F - f3 * f3) * 0.5F + 0.5F) * alphaRatio;
-					final int slX16 = combinedLight >> 16 & 65535;
-					final int blX16 = combinedLight & 65535;
-
-					worldrenderer.pos(gridX - rainX + 0.5D, k2, gridZ - rainY + 0.5D).tex(0.0D, k2 * 0.25D + d5)
-							.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
-					worldrenderer.pos(gridX + rainX + 0.5D, k2, gridZ + rainY + 0.5D).tex(1.0D, k2 * 0.25D + d5)
-							.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
-					worldrenderer.pos(gridX + rainX + 0.5D, l2, gridZ + rainY + 0.5D).tex(1.0D, l2 * 0.25D + d5)
-							.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
-					worldrenderer.pos(gridX - rainX + 0.5D, l2, gridZ - rainY + 0.5D).tex(0.0D, l2 * 0.25D + d5)
-							.color(1.0F, 1.0F, 1.0F, alpha).lightmap(slX16, blX16).endVertex();
+					this.geometry.addColumn(WeatherGeometry.RAIN, gridX, gridZ, k2, l2, combinedLight, 255, 255, 255,
+							0F);
 				} else {
-
+					final int type;
 					final Color color;
-					final ResourceLocation texture;
-
 					if (pt == PrecipitationType.DUST) {
+						type = WeatherGeometry.DUST;
 						color = biome.getDustColor();
-						texture = props.getDustTexture();
 					} else {
+						type = WeatherGeometry.SNOW;
 						color = Color.WHITE;
-						texture = props.getSnowTexture();
 					}
 
-					setupForRender(texture);
-
-					// d8 makes the snow fall down. Assumes texture height of 512 pixels.
-					final double d8 = ((renderCount & 511) + partialTicks) / 512.0F;
 					// The 0.2F factor was originally 0.01F. It
 					// affects the horizontal movement of particles,
 					// which works well for dust.
 					final float factor = biome.getHasDust() ? 0.2F : 0.01F;
-					// d9 shifts the texture left/right
-					final double d9 = this.random.nextDouble()
-							+ (double) f1 * factor * ((float) this.random.nextGaussian());
-					// d10 shifts the texture up/down
-					final double d10 = this.random.nextDouble() + f1 * (float) this.random.nextGaussian() * 0.001D;
-
-					final float alpha = ((1.0F - f3 * f3) * 0.3F + 0.5F) * alphaRatio;
-					final int cl = (combinedLight * 3 + 15728880) / 4;
-					final int slX16 = cl >> 16 & 65535;
-					final int blX16 = cl & 65535;
-
-					worldrenderer.pos(gridX - rainX + 0.5D, k2, gridZ - rainY + 0.5D)
-							.tex(0.0D + d9, k2 * 0.25D + d8 + d10).color(color.red, color.green, color.blue, alpha)
-							.lightmap(slX16, blX16).endVertex();
-					worldrenderer.pos(gridX + rainX + 0.5D, k2, gridZ + rainY + 0.5D)
-							.tex(1.0D + d9, k2 * 0.25D + d8 + d10).color(color.red, color.green, color.blue, alpha)
-							.lightmap(slX16, blX16).endVertex();
-					worldrenderer.pos(gridX + rainX + 0.5D, l2, gridZ + rainY + 0.5D)
-							.tex(1.0D + d9, l2 * 0.25D + d8 + d10).color(color.red, color.green, color.blue, alpha)
-							.lightmap(slX16, blX16).endVertex();
-					worldrenderer.pos(gridX - rainX + 0.5D, l2, gridZ - rainY + 0.5D)
-							.tex(0.0D + d9, l2 * 0.25D + d8 + d10).color(color.red, color.green, color.blue, alpha)
-							.lightmap(slX16, blX16).endVertex();
+					this.geometry.addColumn(type, gridX, gridZ, k2, l2, combinedLight, (int) (color.red * 255.0F),
+							(int) (color.green * 255.0F), (int) (color.blue * 255.0F), factor);
 				}
 			}
 		}
 
-		closeRender();
+		this.geometry.end();
+
+		this.builtDimension = world.provider.getDimension();
+		this.builtX = playerX;
+		this.builtY = playerY;
+		this.builtZ = playerZ;
+		this.builtLocY = locY;
+		this.builtRange = range;
+		this.builtVersion = WeatherColumnCache.getVersion();
+		this.builtTick = EnvironState.getTickCounter();
+	}
+
+	private static void draw(@Nonnull final WeatherGeometry.Layer layer, @Nonnull final ResourceLocation texture) {
+		if (layer.size() == 0)
+			return;
+
+		Minecraft.getMinecraft().getTextureManager().bindTexture(texture);
+		final BufferBuilder buffer = Tessellator.getInstance().getBuffer();
+		buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.PARTICLE_POSITION_TEX_COLOR_LMAP);
+		buffer.addVertexData(layer.getVertexData());
+		Tessellator.getInstance().draw();
+	}
+
+	/**
+	 * Render rain and snow
+	 */
+	public void render(@Nonnull final EntityRenderer renderer, final float partialTicks) {
+
+		// Don't use EnvironState - may not have been initialized when rendering
+		// starts.
+		final Minecraft mc = Minecraft.getMinecraft();
+		final World world = mc.world;
+
+		if (!CapabilityDimensionInfo.getCapability(world).hasWeather())
+			return;
+
+		final float rainStrength = Weather.getIntensityLevel();
+		if (rainStrength <= 0.0F)
+			return;
+
+		final float alphaRatio = rainStrength / Weather.getMaxIntensityLevel();// world.getRainStrength(partialTicks);
+
+		final int range = mc.gameSettings.fancyGraphics ? 10 : 5;
+		final ISeasonInfo season = CapabilitySeasonInfo.getCapability(world);
+		final RenderManager manager = mc.getRenderManager();
+		final int locY = MathHelper.floor(manager.viewerPosY);
+		final BlockPos playerPos = EnvironState.getPlayerPosition();
+
+		if (needsRebuild(world, playerPos, locY, range))
+			rebuild(world, season, playerPos, locY, range);
+
+		final Entity entity = mc.getRenderViewEntity();
+		final int originX = this.geometry.getOriginX();
+		final int originZ = this.geometry.getOriginZ();
+		this.geometry.animate(RenderWeather.getRendererUpdateCount(), partialTicks, entity.posX - originX,
+				entity.posZ - originZ, range, alphaRatio);
+
+		renderer.enableLightmap();
+
+		GlStateManager.disableCull();
+		GlStateManager.glNormal3f(0.0F, 1.0F, 0.0F);
+		GlStateManager.enableBlend();
+		GlStateManager.tryBlendFuncSeparate(GlStateManager.SourceFactor.SRC_ALPHA,
+				GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA, GlStateManager.SourceFactor.ONE,
+				GlStateManager.DestFactor.ZERO);
+		GlStateManager.alphaFunc(516, 0.1F);
+
+		GlStateManager.color(1.0F, 1.0F, 1.0F, 1.0F);
+
+		GlStateManager.pushMatrix();
+		GlStateManager.translate(originX - manager.viewerPosX, -manager.viewerPosY, originZ - manager.viewerPosZ);
+
+		final Weather.Properties props = Weather.getWeatherProperties();
+		draw(this.geometry.getLayer(WeatherGeometry.RAIN), props.getRainTexture());
+		draw(this.geometry.getLayer(WeatherGeometry.SNOW), props.getSnowTexture());
+		draw(this.geometry.getLayer(WeatherGeometry.DUST), props.getDustTexture());
+
+		GlStateManager.popMatrix();
 
 		GlStateManager.enableCull();
 		GlStateManager.disableBlend();
@@ -36,7 +36,6 @@ import org.orecruncher.dsurround.client.handlers.SoundEffectHandler;
 import org.orecruncher.dsurround.client.sound.SoundBuilder;
 import org.orecruncher.dsurround.client.sound.SoundInstance;
 import org.orecruncher.dsurround.client.weather.Weather;
-import org.orecruncher.dsurround.client.weather.compat.RandomThings;
 import org.orecruncher.dsurround.registry.biome.BiomeUtil;
 import org.orecruncher.lib.WorldUtils;
 import org.orecruncher.lib.chunk.ClientChunkCache;
@@ -106,9 +105,9 @@ public class StormSplashRenderer {
 		} else if (state.getMaterial() == Material.LAVA) {
 			particleType = EnumParticleTypes.SMOKE_NORMAL;
 		} else if (WorldUtils.isFullWaterBlock(state)) {
-			ParticleCollections.addWaterRipple(world, x, y, z);
+			ParticleCollections.addWaterRipple(x, y, z);
 		} else if (state.getMaterial() != Material.AIR) {
-			ParticleCollections.addRainSplash(world, x, y, z);
+			ParticleCollections.addRainSplash(x, y, z);
 		}
 
 		if (particleType != null)
@@ -124,7 +123,9 @@ public class StormSplashRenderer {
 	}
 
 	protected BlockPos getPrecipitationHeight(final ISeasonInfo season, final int range, final BlockPos pos) {
-		return season.getPrecipitationHeight(pos);
+		final World world = Minecraft.getMinecraft().world;
+		final int y = WeatherColumnCache.getColumn(world, season, pos.getX(), pos.getZ()).getPrecipitationHeight();
+		return new BlockPos(pos.getX(), y, pos.getZ());
 	}
 
 	protected boolean biomeHasDust(final Biome biome) {
@@ -142,8 +143,8 @@ public class StormSplashRenderer {
 			final float volume = calculateRainSoundVolume(world);
 			float pitch = 1.0F;
 			final int playerY = MathHelper.floor(player.posY);
-			this.pos.setPos(player.posX, 0, player.posZ);
-			if (y > player.posY + 1.0D && season.getPrecipitationHeight(this.pos).getY() > playerY)
+			if (y > player.posY + 1.0D && WeatherColumnCache.getColumn(world, season, MathHelper.floor(player.posX),
+					MathHelper.floor(player.posZ)).getPrecipitationHeight() > playerY)
 				pitch = 0.5F;
 			pitch -= (this.RANDOM.nextFloat() - this.RANDOM.nextFloat()) * 0.1F;
 			this.pos.setPos(x, y, z);
@@ -192,13 +193,14 @@ public class StormSplashRenderer {
 		for (int j1 = 0; j1 < particleCount; ++j1) {
 			final int locX = playerX + this.RANDOM.nextInt(RANGE) - this.RANDOM.nextInt(RANGE);
 			final int locZ = playerZ + this.RANDOM.nextInt(RANGE) - this.RANDOM.nextInt(RANGE);
-			this.pos.setPos(locX, 0, locZ);
+			final WeatherColumnCache.Column column = WeatherColumnCache.getColumn(world, season, locX, locZ);
 
-			if (!RandomThings.shouldRain(world, this.pos))
+			if (!column.canRain())
 				continue;
 
+			this.pos.setPos(locX, 0, locZ);
 			final BlockPos precipHeight = getPrecipitationHeight(season, RANGE / 2, this.pos);
-			final PrecipitationType pt = season.getPrecipitationType(precipHeight, null);
+			final PrecipitationType pt = column.getPrecipitationType(precipHeight.getY());
 			final boolean hasDust = pt == PrecipitationType.DUST;
 
 			if ((hasDust || pt == PrecipitationType.RAIN) && precipHeight.getY() <= playerY + RANGE
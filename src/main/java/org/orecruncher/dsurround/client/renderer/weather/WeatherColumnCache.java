@@ -0,0 +1,226 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
+import org.orecruncher.dsurround.capabilities.season.PrecipitationType;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.weather.compat.RandomThings;
+import org.orecruncher.dsurround.event.BlockUpdateEvent;
+import org.orecruncher.dsurround.registry.biome.BiomeInfo;
+import org.orecruncher.dsurround.registry.biome.BiomeUtil;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+
+import net.minecraft.client.multiplayer.WorldClient;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Ring buffer of block columns around the player holding the information the
+ * storm renderers need about a column: whether rain is allowed, the biome, the
+ * precipitation height and the precipitation type. A column is filled the first
+ * time it is asked for after the player moves over it, and is refreshed after
+ * REFRESH_TICKS so that season and weather changes are picked up. Block updates
+ * and chunk loads drop the affected columns.
+ *
+ * Light is not stored here. It changes independently of the column and is
+ * obtained through LightCache.
+ */
+@SideOnly(Side.CLIENT)
+public final class WeatherColumnCache {
+
+	// Covers the max splash range of 32 blocks in every direction
+	private static final int SIZE = 64;
+	private static final int MASK = SIZE - 1;
+	private static final int INVALID = Integer.MIN_VALUE;
+	private static final int REFRESH_TICKS = 100;
+
+	private static final Column[] columns = new Column[SIZE * SIZE];
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private static World world;
+	private static ISeasonInfo season;
+	private static int version;
+
+	static {
+		for (int i = 0; i < columns.length; i++)
+			columns[i] = new Column();
+	}
+
+	private WeatherColumnCache() {
+
+	}
+
+	/**
+	 * Changes whenever columns are dropped from the cache. Consumers that
+	 * derive state from the columns can compare it against a prior value to
+	 * know that they need to rebuild.
+	 */
+	public static int getVersion() {
+		return version;
+	}
+
+	private static int index(final int x, final int z) {
+		return (z & MASK) * SIZE + (x & MASK);
+	}
+
+	/**
+	 * Obtains the column at the specified x/z location. The returned object is
+	 * owned by the cache and is only valid until the next call.
+	 */
+	@Nonnull
+	public static Column getColumn(@Nonnull final World world, @Nonnull final ISeasonInfo season, final int x,
+			final int z) {
+		if (WeatherColumnCache.world != world || WeatherColumnCache.season != season) {
+			invalidateAll();
+			WeatherColumnCache.world = world;
+			WeatherColumnCache.season = season;
+		}
+
+		final Column column = columns[index(x, z)];
+		final int tick = EnvironState.getTickCounter();
+		if (column.x != x || column.z != z || tick - column.stamp >= REFRESH_TICKS || tick < column.stamp)
+			column.fill(world, season, x, z, tick);
+		return column;
+	}
+
+	private static void invalidate(final int x, final int z) {
+		final Column column = columns[index(x, z)];
+		if (column.x == x && column.z == z) {
+			column.x = INVALID;
+			version++;
+		}
+	}
+
+	private static void invalidateAll() {
+		for (final Column column : columns)
+			column.x = INVALID;
+		version++;
+	}
+
+	@SubscribeEvent
+	public static void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
+		if (event.world == world)
+			invalidate(event.pos.getX(), event.pos.getZ());
+	}
+
+	@SubscribeEvent
+	public static void onChunkLoad(@Nonnull final ChunkEvent.Load event) {
+		if (event.getWorld() != world)
+			return;
+		final ChunkPos pos = event.getChunk().getPos();
+		final int baseX = pos.getXStart();
+		final int baseZ = pos.getZStart();
+		for (int z = 0; z < 16; z++)
+			for (int x = 0; x < 16; x++)
+				invalidate(baseX + x, baseZ + z);
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (event.getWorld() instanceof WorldClient) {
+			invalidateAll();
+			world = null;
+			season = null;
+		}
+	}
+
+	@SideOnly(Side.CLIENT)
+	public static final class Column {
+
+		private int x = INVALID;
+		private int z = INVALID;
+		private int stamp;
+
+		private boolean canRain;
+		private BiomeInfo biome;
+		private int precipHeight;
+
+		private int typeY = INVALID;
+		private PrecipitationType type;
+
+		private Column() {
+
+		}
+
+		private void fill(@Nonnull final World world, @Nonnull final ISeasonInfo season, final int x, final int z,
+				final int tick) {
+			this.x = x;
+			this.z = z;
+			this.stamp = tick;
+			this.typeY = INVALID;
+			this.type = null;
+
+			mutable.setPos(x, 0, z);
+			this.canRain = RandomThings.shouldRain(world, mutable);
+			this.biome = BiomeUtil.getBiomeData(ClientChunkCache.instance().getBiome(mutable));
+			this.precipHeight = season.getPrecipitationHeight(mutable).getY();
+		}
+
+		public int getX() {
+			return this.x;
+		}
+
+		public int getZ() {
+			return this.z;
+		}
+
+		public boolean canRain() {
+			return this.canRain;
+		}
+
+		@Nonnull
+		public BiomeInfo getBiome() {
+			return this.biome;
+		}
+
+		public int getPrecipitationHeight() {
+			return this.precipHeight;
+		}
+
+		/**
+		 * Precipitation type for the column evaluated at the specified height.
+		 * Temperature can vary with height so the last result is reused only if
+		 * asked for the same y.
+		 */
+		@Nonnull
+		public PrecipitationType getPrecipitationType(final int y) {
+			if (this.typeY != y || this.type == null) {
+				mutable.setPos(this.x, y, this.z);
+				this.type = season.getPrecipitationType(mutable, this.biome);
+				this.typeY = y;
+			}
+			return this.type;
+		}
+	}
+}
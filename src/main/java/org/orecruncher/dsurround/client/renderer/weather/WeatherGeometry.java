@@ -0,0 +1,338 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.renderer.weather;
+
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.lib.random.XorShiftRandom;
+
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Retained quad geometry for the rain, snow and dust columns around the
+ * player. The layout of the quads, their light and color, and the random
+ * values seeded per column are computed when the geometry is rebuilt. Between
+ * rebuilds only the animated attributes (texture scroll and alpha) of the
+ * vertices are rewritten before the arrays are handed to the buffer in bulk.
+ *
+ * Vertices are PARTICLE_POSITION_TEX_COLOR_LMAP with x/z relative to the
+ * origin block so that the renderer can place them with a single translation.
+ * This class does not touch GL state.
+ */
+@SideOnly(Side.CLIENT)
+public final class WeatherGeometry {
+
+	public static final int RAIN = 0;
+	public static final int SNOW = 1;
+	public static final int DUST = 2;
+
+	// Size of a PARTICLE_POSITION_TEX_COLOR_LMAP vertex in ints
+	private static final int VERTEX_SIZE = 7;
+	private static final int QUAD_SIZE = VERTEX_SIZE * 4;
+	private static final int U_OFFSET = 3;
+	private static final int V_OFFSET = 4;
+	private static final int COLOR_OFFSET = 5;
+	private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+	// Sky/block light of 15/15 used to brighten snow and dust
+	private static final int FULL_BRIGHT = 15728880;
+
+	private static final double[] RAIN_X_COORDS = new double[1024];
+	private static final double[] RAIN_Y_COORDS = new double[1024];
+
+	static {
+		for (int i = 0; i < 32; ++i) {
+			for (int j = 0; j < 32; ++j) {
+				final double f2 = j - 16;
+				final double f3 = i - 16;
+				final double f4 = MathHelper.sqrt(f2 * f2 + f3 * f3);
+				RAIN_X_COORDS[i << 5 | j] = (-f3 / f4) * 0.5D;
+				RAIN_Y_COORDS[i << 5 | j] = (f2 / f4) * 0.5D;
+			}
+		}
+	}
+
+	private final Layer[] layers = { new Layer(), new Layer(), new Layer() };
+
+	private int originX;
+	private int originZ;
+
+	@Nonnull
+	public Layer getLayer(final int type) {
+		return this.layers[type];
+	}
+
+	public int getOriginX() {
+		return this.originX;
+	}
+
+	public int getOriginZ() {
+		return this.originZ;
+	}
+
+	/**
+	 * Starts a rebuild of the geometry around the specified origin. Columns are
+	 * then added with addColumn() and the rebuild completed with end().
+	 */
+	public void begin(final int originX, final int originZ) {
+		this.originX = originX;
+		this.originZ = originZ;
+		for (final Layer layer : this.layers)
+			layer.reset();
+	}
+
+	/**
+	 * Adds the quad for a column. The light is the combined light at the top of
+	 * the precipitation and the color components are in the range 0-255.
+	 */
+	public void addColumn(final int type, final int gridX, final int gridZ, final int minY, final int maxY,
+			final int combinedLight, final int red, final int green, final int blue, final float driftFactor) {
+		this.layers[type].add(type, gridX - this.originX, gridZ - this.originZ, (gridZ << 16) ^ gridX, minY, maxY,
+				type == RAIN ? combinedLight : (combinedLight * 3 + FULL_BRIGHT) / 4, red, green, blue,
+				driftFactor);
+	}
+
+	/**
+	 * Completes a rebuild, sizing the vertex arrays to the columns added.
+	 */
+	public void end() {
+		for (final Layer layer : this.layers)
+			layer.trim();
+	}
+
+	/**
+	 * Rewrites the animated attributes of every vertex for the frame.
+	 *
+	 * @param renderCount  Renderer update count
+	 * @param partialTicks Partial tick of the frame
+	 * @param viewX        Viewer x relative to the origin block
+	 * @param viewZ        Viewer z relative to the origin block
+	 * @param range        Radius of the columns in blocks
+	 * @param alphaRatio   Intensity of the precipitation
+	 */
+	public void animate(final int renderCount, final float partialTicks, final double viewX, final double viewZ,
+			final int range, final float alphaRatio) {
+		final float f1 = renderCount + partialTicks;
+		this.layers[RAIN].animateRain(renderCount, partialTicks, viewX, viewZ, range, alphaRatio);
+		this.layers[SNOW].animateSnow(renderCount, partialTicks, f1, viewX, viewZ, range, alphaRatio);
+		this.layers[DUST].animateSnow(renderCount, partialTicks, f1, viewX, viewZ, range, alphaRatio);
+	}
+
+	private static int packColor(final int red, final int green, final int blue, final int alpha) {
+		if (LITTLE_ENDIAN)
+			return alpha << 24 | blue << 16 | green << 8 | red;
+		return red << 24 | green << 16 | blue << 8 | alpha;
+	}
+
+	private static int packLightmap(final int combinedLight) {
+		final int sky = combinedLight >> 16 & 65535;
+		final int block = combinedLight & 65535;
+		if (LITTLE_ENDIAN)
+			return sky << 16 | block;
+		return block << 16 | sky;
+	}
+
+	private static void putPosition(@Nonnull final int[] data, final int offset, final double x, final int y,
+			final double z, final float u, final int lightmap) {
+		data[offset] = Float.floatToRawIntBits((float) x);
+		data[offset + 1] = Float.floatToRawIntBits(y);
+		data[offset + 2] = Float.floatToRawIntBits((float) z);
+		data[offset + U_OFFSET] = Float.floatToRawIntBits(u);
+		data[offset + VERTEX_SIZE - 1] = lightmap;
+	}
+
+	/**
+	 * The quads that share a texture. Per column state is held in parallel
+	 * arrays indexed by the order the columns were added.
+	 */
+	@SideOnly(Side.CLIENT)
+	public static final class Layer {
+
+		private static final int ALLOCATION_SIZE = 64;
+
+		private final Random random = new XorShiftRandom();
+
+		private int count;
+		private int[] data = new int[0];
+		private int[] work = new int[ALLOCATION_SIZE * QUAD_SIZE];
+
+		private float[] centerX = new float[ALLOCATION_SIZE];
+		private float[] centerZ = new float[ALLOCATION_SIZE];
+		private int[] seed = new int[ALLOCATION_SIZE];
+		private float[] minV = new float[ALLOCATION_SIZE];
+		private float[] maxV = new float[ALLOCATION_SIZE];
+		private int[] rgb = new int[ALLOCATION_SIZE];
+		private double[] speed = new double[ALLOCATION_SIZE];
+		private double[] shiftU = new double[ALLOCATION_SIZE];
+		private double[] driftU = new double[ALLOCATION_SIZE];
+		private double[] shiftV = new double[ALLOCATION_SIZE];
+		private double[] driftV = new double[ALLOCATION_SIZE];
+
+		private Layer() {
+
+		}
+
+		public int size() {
+			return this.count;
+		}
+
+		/**
+		 * Vertex data for the layer, exactly four vertices per column.
+		 */
+		@Nonnull
+		public int[] getVertexData() {
+			return this.data;
+		}
+
+		private void reset() {
+			this.count = 0;
+		}
+
+		private void trim() {
+			final int length = this.count * QUAD_SIZE;
+			if (this.data.length != length)
+				this.data = new int[length];
+			System.arraycopy(this.work, 0, this.data, 0, length);
+		}
+
+		private void grow() {
+			final int capacity = this.centerX.length + ALLOCATION_SIZE;
+			this.work = Arrays.copyOf(this.work, capacity * QUAD_SIZE);
+			this.centerX = Arrays.copyOf(this.centerX, capacity);
+			this.centerZ = Arrays.copyOf(this.centerZ, capacity);
+			this.seed = Arrays.copyOf(this.seed, capacity);
+			this.minV = Arrays.copyOf(this.minV, capacity);
+			this.maxV = Arrays.copyOf(this.maxV, capacity);
+			this.rgb = Arrays.copyOf(this.rgb, capacity);
+			this.speed = Arrays.copyOf(this.speed, capacity);
+			this.shiftU = Arrays.copyOf(this.shiftU, capacity);
+			this.driftU = Arrays.copyOf(this.driftU, capacity);
+			this.shiftV = Arrays.copyOf(this.shiftV, capacity);
+			this.driftV = Arrays.copyOf(this.driftV, capacity);
+		}
+
+		private void add(final int type, final int x, final int z, final int seed, final int minY, final int maxY,
+				final int combinedLight, final int red, final int green, final int blue, final float driftFactor) {
+			if (this.count == this.centerX.length)
+				grow();
+
+			final int i = this.count++;
+			this.centerX[i] = x + 0.5F;
+			this.centerZ[i] = z + 0.5F;
+			this.seed[i] = seed;
+			this.minV[i] = minY * 0.25F;
+			this.maxV[i] = maxY * 0.25F;
+			this.rgb[i] = red << 16 | green << 8 | blue;
+
+			// Same draws, in the same order, the immediate mode renderer made
+			this.random.setSeed(seed);
+			if (type == RAIN) {
+				this.speed[i] = 3.0D + this.random.nextDouble();
+			} else {
+				this.shiftU[i] = this.random.nextDouble();
+				this.driftU[i] = driftFactor * (float) this.random.nextGaussian();
+				this.shiftV[i] = this.random.nextDouble();
+				this.driftV[i] = (float) this.random.nextGaussian() * 0.001D;
+			}
+
+			final int idx = (z + 16) * 32 + x + 16;
+			final double rainX = RAIN_X_COORDS[idx];
+			final double rainY = RAIN_Y_COORDS[idx];
+			final int lightmap = packLightmap(combinedLight);
+			final int offset = i * QUAD_SIZE;
+			putPosition(this.work, offset, x - rainX + 0.5D, minY, z - rainY + 0.5D, 0F, lightmap);
+			putPosition(this.work, offset + VERTEX_SIZE, x + rainX + 0.5D, minY, z + rainY + 0.5D, 1F, lightmap);
+			putPosition(this.work, offset + VERTEX_SIZE * 2, x + rainX + 0.5D, maxY, z + rainY + 0.5D, 1F, lightmap);
+			putPosition(this.work, offset + VERTEX_SIZE * 3, x - rainX + 0.5D, maxY, z - rainY + 0.5D, 0F, lightmap);
+		}
+
+		private int alpha(final int i, final double viewX, final double viewZ, final int range, final float bias,
+				final float alphaRatio) {
+			final double dX = this.centerX[i] - viewX;
+			final double dZ = this.centerZ[i] - viewZ;
+			final float f3 = MathHelper.sqrt(dX * dX + dZ * dZ) / range;
+			final float alpha = ((1.0F - f3 * f3) * bias + 0.5F) * alphaRatio;
+			return MathHelper.clamp((int) (alpha * 255.0F), 0, 255);
+		}
+
+		private void setColor(final int i, final int alpha) {
+			final int c = this.rgb[i];
+			final int packed = packColor(c >> 16 & 255, c >> 8 & 255, c & 255, alpha);
+			final int offset = i * QUAD_SIZE + COLOR_OFFSET;
+			this.data[offset] = packed;
+			this.data[offset + VERTEX_SIZE] = packed;
+			this.data[offset + VERTEX_SIZE * 2] = packed;
+			this.data[offset + VERTEX_SIZE * 3] = packed;
+		}
+
+		private void setV(final int i, final double offsetV) {
+			final int minV = Float.floatToRawIntBits((float) (this.minV[i] + offsetV));
+			final int maxV = Float.floatToRawIntBits((float) (this.maxV[i] + offsetV));
+			final int offset = i * QUAD_SIZE + V_OFFSET;
+			this.data[offset] = minV;
+			this.data[offset + VERTEX_SIZE] = minV;
+			this.data[offset + VERTEX_SIZE * 2] = maxV;
+			this.data[offset + VERTEX_SIZE * 3] = maxV;
+		}
+
+		private void setU(final int i, final double offsetU) {
+			final int u0 = Float.floatToRawIntBits((float) offsetU);
+			final int u1 = Float.floatToRawIntBits((float) (1.0D + offsetU));
+			final int offset = i * QUAD_SIZE + U_OFFSET;
+			this.data[offset] = u0;
+			this.data[offset + VERTEX_SIZE] = u1;
+			this.data[offset + VERTEX_SIZE * 2] = u1;
+			this.data[offset + VERTEX_SIZE * 3] = u0;
+		}
+
+		private void animateRain(final int renderCount, final float partialTicks, final double viewX,
+				final double viewZ, final int range, final float alphaRatio) {
+			for (int i = 0; i < this.count; i++) {
+				// Makes the rain fall down. Assumes texture height of 512 pixels.
+				final double d5 = ((double) (renderCount + this.seed[i] & 31) + (double) partialTicks) / 32.0D
+						* this.speed[i];
+				setV(i, d5);
+				setColor(i, alpha(i, viewX, viewZ, range, 0.5F, alphaRatio));
+			}
+		}
+
+		private void animateSnow(final int renderCount, final float partialTicks, final float f1,
+				final double viewX, final double viewZ, final int range, final float alphaRatio) {
+			// Makes the snow fall down. Assumes texture height of 512 pixels.
+			final double d8 = ((renderCount & 511) + partialTicks) / 512.0F;
+			for (int i = 0; i < this.count; i++) {
+				setU(i, this.shiftU[i] + (double) f1 * this.driftU[i]);
+				setV(i, d8 + this.shiftV[i] + f1 * this.driftV[i]);
+				setColor(i, alpha(i, viewX, viewZ, range, 0.3F, alphaRatio));
+			}
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.sound;
+
+import javax.annotation.Nonnull;
+
+import org.orecruncher.dsurround.mixins.IPositionedSoundMixin;
+import org.orecruncher.dsurround.registry.RegistryManager;
+import org.orecruncher.lib.chunk.ClientChunkCache;
+
+import net.minecraft.client.audio.ISound;
+import net.minecraft.client.audio.PositionedSound;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Estimates how loud a sound will be at the listener before it is handed to
+ * the sound system. The estimate combines the volume of the sound, the
+ * category volume, the configured volume scale of the sound, linear distance
+ * attenuation, and a rough occlusion factor from the opaque blocks between the
+ * listener and the sound.
+ */
+@SideOnly(Side.CLIENT)
+final class SoundAudibility {
+
+	// Linear attenuation distance used by the sound system for a volume of 1
+	private static final float ATTENUATION_RANGE = 16F;
+
+	// Loudness retained for each opaque block between listener and sound. It
+	// takes a dozen or so blocks of solid terrain to reach the default cutoff.
+	private static final float OCCLUSION_FACTOR = 0.7F;
+	private static final int MAX_OCCLUSION_SAMPLES = 32;
+
+	private static final BlockPos.MutableBlockPos mutable = new BlockPos.MutableBlockPos();
+
+	private SoundAudibility() {
+
+	}
+
+	/**
+	 * Estimates the loudness of the sound at the listener in the range 0-1.
+	 *
+	 * @param sound    The sound being played
+	 * @param listener Entity hearing the sound
+	 * @return Estimated loudness at the listener
+	 */
+	public static float estimate(@Nonnull final ISound sound, @Nonnull final Entity listener) {
+		final float volume = getVolume(sound);
+		float result = Math.min(volume, 1F) * SoundEngine.getVolume(sound.getCategory())
+				* RegistryManager.SOUND.getVolumeScale(sound);
+
+		if (result <= 0F || sound.getAttenuationType() == ISound.AttenuationType.NONE)
+			return result;
+
+		final double eyeY = listener.posY + listener.getEyeHeight();
+		final double dX = sound.getXPosF() - listener.posX;
+		final double dY = sound.getYPosF() - eyeY;
+		final double dZ = sound.getZPosF() - listener.posZ;
+		final double distSq = dX * dX + dY * dY + dZ * dZ;
+		final float falloff = attenuation(volume, distSq);
+		if (falloff <= 0F)
+			return 0F;
+
+		final double dist = Math.sqrt(distSq);
+		result *= falloff;
+
+		// Step along the line from the listener to the sound a block at a time
+		// counting the opaque blocks crossed.
+		final int samples = Math.min(MathHelper.ceil(dist), MAX_OCCLUSION_SAMPLES);
+		long last = Long.MIN_VALUE;
+		for (int i = 1; i < samples; i++) {
+			final double f = (double) i / samples;
+			mutable.setPos(listener.posX + dX * f, eyeY + dY * f, listener.posZ + dZ * f);
+			final long key = mutable.toLong();
+			if (key != last) {
+				last = key;
+				if (ClientChunkCache.instance().getBlockState(mutable).isOpaqueCube())
+					result *= OCCLUSION_FACTOR;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Linear distance attenuation applied by the sound system, in the range 0-1.
+	 * Louder sounds carry proportionally further.
+	 *
+	 * @param volume Volume of the sound
+	 * @param distSq Squared distance between the sound and the listener
+	 * @return Factor the volume is scaled by at that distance
+	 */
+	static float attenuation(final float volume, final double distSq) {
+		final double range = ATTENUATION_RANGE * Math.max(1F, volume);
+		if (distSq >= range * range)
+			return 0F;
+		return (float) (1D - Math.sqrt(distSq) / range);
+	}
+
+	/**
+	 * The volume of a PositionedSound is not available until the sound system
+	 * resolved the sound, so fall back to the raw volume of the instance.
+	 */
+	static float getVolume(@Nonnull final ISound sound) {
+		if (sound.getSound() != null)
+			return sound.getVolume();
+		if (sound instanceof PositionedSound)
+			return ((IPositionedSoundMixin) sound).getVolumeRaw();
+		return 1F;
+	}
+}
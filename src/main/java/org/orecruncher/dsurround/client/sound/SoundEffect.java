@@ -32,6 +32,7 @@ import org.orecruncher.dsurround.ModInfo;
 import org.orecruncher.dsurround.client.fx.ISpecialEffect;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.client.handlers.SoundEffectHandler;
+import org.orecruncher.dsurround.expression.Condition;
 import org.orecruncher.dsurround.expression.ExpressionEngine;
 import org.orecruncher.dsurround.registry.RegistryManager;
 import org.orecruncher.dsurround.registry.config.SoundConfig;
@@ -66,7 +67,7 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 	private final String soundName;
 
 	private SoundType type;
-	private String conditions;
+	private Condition conditions;
 	private SoundCategory category;
 	private float volume;
 	private float pitch;
@@ -86,7 +87,7 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 		this.sound = RegistryManager.SOUND.getSound(resource);
 		this.volume = volume;
 		this.pitch = pitch;
-		this.conditions = StringUtils.EMPTY;
+		this.conditions = Condition.ALWAYS;
 		this.weight = 10;
 		this.type = SoundType.SPOT;
 		this.category = MoreObjects.firstNonNull(category, SoundCategory.BLOCKS);
@@ -116,10 +117,15 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 	}
 
 	protected SoundEffect setConditions(@Nonnull final String cond) {
-		this.conditions = cond;
+		this.conditions = ExpressionEngine.instance().compile(cond);
 		return this;
 	}
 
+	@Nonnull
+	public Condition getConditions() {
+		return this.conditions;
+	}
+
 	protected SoundEffect setWeight(final int w) {
 		this.weight = w;
 		return this;
@@ -253,7 +259,7 @@ public final class SoundEffect implements ISpecialEffect, IEntrySource<SoundEffe
 	// IEntrySource<T>
 	@Override
 	public boolean matches() {
-		return ExpressionEngine.instance().check(this.conditions);
+		return this.conditions.check();
 	}
 
 	@Override
@@ -25,6 +25,7 @@
 package org.orecruncher.dsurround.client.sound;
 
 import java.nio.IntBuffer;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +43,7 @@ import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.ModInfo;
 import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.ModOptions.Trace;
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.event.DiagnosticEvent;
 import org.orecruncher.dsurround.registry.RegistryManager;
 import org.orecruncher.lib.ReflectedField.BooleanField;
@@ -51,12 +53,17 @@ import org.orecruncher.lib.ThreadGuard;
 import org.orecruncher.lib.ThreadGuard.Action;
 import org.orecruncher.lib.math.MathStuff;
 
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.audio.ISound;
 import net.minecraft.client.audio.SoundManager;
 import net.minecraft.client.audio.SoundRegistry;
 import net.minecraft.client.settings.GameSettings;
+import net.minecraft.entity.Entity;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.text.TextFormatting;
 import net.minecraftforge.client.event.sound.SoundEvent.SoundSourceEvent;
@@ -106,9 +113,18 @@ public final class SoundEngine {
 	private static final float MUTE_VOLUME = 0.00001F;
 	private static final int MAX_STREAM_CHANNELS = 16;
 	private static final int SOUND_QUEUE_SLACK = 6;
+	private static final int ORPHAN_BATCH_SIZE = 32;
+	private static final int AUDIBILITY_RECHECK_TICKS = 10;
 
 	// Maximum number of sound channels configured in the sound system
 	private static int maxSounds = 0;
+
+	// Category volumes and the Sound Physics global multiplier. Refreshed at the
+	// start of each client tick and when the SoundManager changes the volume of
+	// a category.
+	private static final float[] categoryVolumes = new float[SoundCategory.values().length];
+	private static boolean volumesValid = false;
+	private static float soundPhysicsVolume = 1F;
 	private static SoundEngine instance_ = new SoundEngine();
 
 	public static SoundEngine instance() {
@@ -122,8 +138,35 @@ public final class SoundEngine {
 
 	private final Set<ISoundInstance> queuedSounds = new ReferenceOpenHashSet<>(256);
 
+	// Sounds waiting for a channel. They are tracked here without a source in
+	// the sound system and are promoted in priority order as channels free up.
+	private final ObjectArrayList<ISoundInstance> virtualSounds = new ObjectArrayList<>(64);
+	private final Reference2IntOpenHashMap<ISoundInstance> virtualSince = new Reference2IntOpenHashMap<>(64);
+	private final Reference2FloatOpenHashMap<ISoundInstance> priorities = new Reference2FloatOpenHashMap<>(64);
+	private final ObjectArrayList<ISoundInstance> candidates = new ObjectArrayList<>(64);
+
+	// Tick a waiting sound was last found to be inaudible. The estimate can
+	// sample a number of blocks so it is not repeated every tick.
+	private final Reference2IntOpenHashMap<ISoundInstance> inaudibleSince = new Reference2IntOpenHashMap<>(64);
+
+	// Voices stopped to make room this tick. The sound system does not release
+	// them until its next update so they are not eligible to be stolen again.
+	private final Set<ISoundInstance> stolenVoices = new ReferenceOpenHashSet<>(16);
+
 	private String playedSoundId = null;
 
+	// Number of sounds in the playing list of the SoundManager. Maintained
+	// from the source events and the SoundManager hooks.
+	private int playingCount = 0;
+
+	// Source IDs the SoundManager created for sounds that are still in its
+	// playing list. When the SoundManager stops everything it forgets the
+	// sounds without removing their sources, so the IDs move to the orphan
+	// journal to be reclaimed later.
+	private final Reference2ObjectOpenHashMap<ISound, String> sourceIds = new Reference2ObjectOpenHashMap<>(256);
+	private final ObjectArrayList<String> orphanJournal = new ObjectArrayList<>();
+	private int orphanTick = 0;
+
 	private SoundEngine() {
 		MinecraftForge.EVENT_BUS.register(this);
 	}
@@ -149,7 +192,7 @@ public final class SoundEngine {
 	}
 
 	private int currentSoundCount() {
-		return getPlayingSounds().size();
+		return this.playingCount;
 	}
 
 	private boolean canFitSound() {
@@ -168,12 +211,12 @@ public final class SoundEngine {
 		return ((ISoundSystemMixin)getSoundSystem()).getSoundLibrary();
 	}
 
-	private Map<String, ISound> getPlayingSounds() {
-		return ((ISoundManagerMixin)getSoundManager()).getPlayingSounds();
+	private boolean isSoundSystemLoaded() {
+		return ((ISoundManagerMixin)getSoundManager()).isLoaded();
 	}
 
-	private Map<ISound, String> getPlayingSoundsInv() {
-		return ((ISoundManagerMixin)getSoundManager()).getPlayingSoundsInv();
+	private Map<String, ISound> getPlayingSounds() {
+		return ((ISoundManagerMixin)getSoundManager()).getPlayingSounds();
 	}
 
 	private Map<ISound, Integer> getDelayedSounds() {
@@ -196,9 +239,10 @@ public final class SoundEngine {
 	 * @param sound The sound to stop
 	 */
 	public void stopSound(@Nonnull final ISoundInstance sound) {
-		if (sound.getState() == SoundState.QUEUED)
+		if (sound.getState() == SoundState.QUEUED) {
 			sound.setState(SoundState.DONE);
-		else
+			this.queuedSounds.remove(sound);
+		} else
 			getSoundManager().stopSound(sound);
 	}
 
@@ -208,9 +252,12 @@ public final class SoundEngine {
 	public void stopAllSounds() {
 		getSoundManager().stopAllSounds();
 		flushSoundQueue();
-		clearOrphans();
 		this.queuedSounds.forEach(s -> s.setState(SoundState.DONE));
 		this.queuedSounds.clear();
+		this.virtualSounds.clear();
+		this.virtualSince.clear();
+		this.inaudibleSince.clear();
+		this.stolenVoices.clear();
 	}
 
 	/**
@@ -228,25 +275,56 @@ public final class SoundEngine {
 		// Looks like a new sound. Assume an error state until otherwise.
 		sound.setState(SoundState.ERROR);
 
+		// A sound too faint to hear is not given a channel. One that can be queued
+		// waits with the virtual sounds until it can be heard; anything else is
+		// dropped.
+		if (!isAudible(sound)) {
+			if (sound.getQueue()) {
+				virtualize(sound);
+				this.inaudibleSince.put(sound, EnvironState.getTickCounter());
+				if (ModBase.log().testTrace(Trace.SOUND_PLAY))
+					ModBase.log().debug("> VIRTUAL: [%s]", sound);
+				return true;
+			}
+			if (ModBase.log().testTrace(Trace.SOUND_PLAY))
+				ModBase.log().debug("> CULLED: [%s]", sound);
+			return false;
+		}
+
 		return playSound0(sound);
 	}
 
+	private static boolean isAudible(@Nonnull final ISoundInstance sound) {
+		final float threshold = ModOptions.sound.audibilityThreshold;
+		if (threshold <= 0F)
+			return true;
+		final Entity listener = EnvironState.getPlayer();
+		return listener == null || SoundAudibility.estimate(sound, listener) >= threshold;
+	}
+
+	/**
+	 * Determines if a waiting sound can be heard. A sound found to be inaudible
+	 * is not checked again until the recheck interval has passed.
+	 */
+	private boolean isAudible(@Nonnull final ISoundInstance sound, final int tick) {
+		if (this.inaudibleSince.containsKey(sound)) {
+			final int elapsed = tick - this.inaudibleSince.getInt(sound);
+			if (elapsed >= 0 && elapsed < AUDIBILITY_RECHECK_TICKS)
+				return false;
+		}
+		if (isAudible(sound)) {
+			this.inaudibleSince.removeInt(sound);
+			return true;
+		}
+		this.inaudibleSince.put(sound, tick);
+		return false;
+	}
+
 	protected boolean playSound0(@Nonnull final ISoundInstance sound) {
-		if (canFitSound()) {
-			this.playedSoundId = null;
-			try {
-				getSoundManager().playSound(sound);
-				if (this.playedSoundId != null) {
-					this.queuedSounds.add(sound);
-					sound.setState(SoundState.PLAYING);
-				}
-			} catch (@Nonnull final Throwable t) {
-				final String txt = String.format("Unable to play sound [%s]", sound);
-				ModBase.log().error(txt, t);
-			}
+		if (canFitSound() || stealVoice(sound)) {
+			submit(sound);
 		} else if (sound.getQueue() && sound.getState() != SoundState.QUEUED) {
-			sound.setState(SoundState.QUEUED);
-			this.queuedSounds.add(sound);
+			virtualize(sound);
 		}
 
 		if (ModBase.log().testTrace(Trace.SOUND_PLAY)) {
@@ -261,23 +339,174 @@ public final class SoundEngine {
 		return sound.getState().isActive();
 	}
 
-	// Wipe out any orphans. Not sure exactly how this happens but it wouldn't
-	// surprise me if there is a gap in thread processing in the sound engine.
-	private void clearOrphans() {
-		final Map<String, ISound> playingSounds = getPlayingSounds();
-		final SoundSystem sndSystem = getSoundSystem();
+	private void virtualize(@Nonnull final ISoundInstance sound) {
+		sound.setState(SoundState.QUEUED);
+		this.queuedSounds.add(sound);
+		this.virtualSounds.add(sound);
+		this.virtualSince.put(sound, EnvironState.getTickCounter());
+	}
+
+	private boolean submit(@Nonnull final ISoundInstance sound) {
+		this.playedSoundId = null;
+		try {
+			getSoundManager().playSound(sound);
+			if (this.playedSoundId != null) {
+				this.queuedSounds.add(sound);
+				sound.setState(SoundState.PLAYING);
+				return true;
+			}
+		} catch (@Nonnull final Throwable t) {
+			final String txt = String.format("Unable to play sound [%s]", sound);
+			ModBase.log().error(txt, t);
+		}
+		return false;
+	}
+
+	/**
+	 * Stops the least important of our playing sounds if it ranks below the
+	 * incoming sound. The incoming sound is played in the slack the sound system
+	 * has above the normal limit until the stopped voice is released. A victim
+	 * that can be queued goes back to waiting for a channel rather than being
+	 * dropped.
+	 *
+	 * @param sound The sound that needs a channel
+	 * @return true if a voice was stopped to make room, false otherwise
+	 */
+	private boolean stealVoice(@Nonnull final ISoundInstance sound) {
+		if (currentSoundCount() >= maxSounds)
+			return false;
+
+		final Entity listener = EnvironState.getPlayer();
+		float lowest = SoundPriority.of(sound, listener, 0);
+		ISoundInstance victim = null;
+		for (final ISoundInstance s : this.queuedSounds) {
+			if (s.getState() == SoundState.PLAYING && !this.stolenVoices.contains(s)) {
+				final float priority = SoundPriority.of(s, listener, 0);
+				if (priority < lowest) {
+					lowest = priority;
+					victim = s;
+				}
+			}
+		}
+
+		if (victim == null)
+			return false;
+
+		if (ModBase.log().testTrace(Trace.SOUND_PLAY))
+			ModBase.log().debug("> STOLEN: [%s] for [%s]", victim, sound);
+
+		this.stolenVoices.add(victim);
+		getSoundManager().stopSound(victim);
+		if (victim.getQueue())
+			virtualize(victim);
+		return true;
+	}
+
+	/**
+	 * Sends down the most important waiting sounds for the channels that are
+	 * free. Nothing is attempted when the sound system is full. A sound that
+	 * cannot be heard stays waiting, as does a stolen voice until the
+	 * SoundManager has released its old source.
+	 */
+	private void promoteVirtualSounds() {
+		if (this.virtualSounds.isEmpty())
+			return;
+
+		this.virtualSounds.removeIf(this::releaseVirtual);
+
+		final int free = (maxSounds - SOUND_QUEUE_SLACK) - currentSoundCount();
+		if (free <= 0 || this.virtualSounds.isEmpty())
+			return;
+
+		final int tick = EnvironState.getTickCounter();
+		final ObjectArrayList<ISoundInstance> candidates = this.candidates;
+		for (final ISoundInstance sound : this.virtualSounds)
+			if (!this.sourceIds.containsKey(sound) && isAudible(sound, tick))
+				candidates.add(sound);
+
+		if (candidates.size() > free) {
+			final Entity listener = EnvironState.getPlayer();
+			for (final ISoundInstance sound : candidates)
+				this.priorities.put(sound, SoundPriority.of(sound, listener, tick - this.virtualSince.getInt(sound)));
+			candidates.sort((s1, s2) -> Float.compare(this.priorities.getFloat(s2), this.priorities.getFloat(s1)));
+			this.priorities.clear();
+		}
+
+		final int count = Math.min(free, candidates.size());
+		for (int i = 0; i < count; i++) {
+			final ISoundInstance sound = candidates.get(i);
+			if (!submit(sound)) {
+				sound.setState(SoundState.ERROR);
+				this.queuedSounds.remove(sound);
+			}
+		}
+		candidates.clear();
+
+		// Promoted sounds are no longer QUEUED
+		this.virtualSounds.removeIf(this::releaseVirtual);
+	}
+
+	/**
+	 * Forgets the tracking state of a virtual sound that is no longer waiting.
+	 *
+	 * @param sound The virtual sound to check
+	 * @return true if the sound is no longer waiting for a channel
+	 */
+	private boolean releaseVirtual(@Nonnull final ISoundInstance sound) {
+		if (sound.getState() == SoundState.QUEUED)
+			return false;
+		this.virtualSince.removeInt(sound);
+		this.inaudibleSince.removeInt(sound);
+		return true;
+	}
+
+	/**
+	 * Corrects the playing count if it has drifted from the playing list of the
+	 * SoundManager, as can happen if a mod manipulates the list directly.
+	 */
+	private void resyncPlayingCount() {
+		final int actual = getPlayingSounds().size();
+		if (actual != this.playingCount) {
+			if (ModBase.log().testTrace(Trace.SOUND_PLAY))
+				ModBase.log().debug("> RESYNC: playing count %d, actual %d", this.playingCount, actual);
+			this.playingCount = actual;
+		}
+	}
+
+	/**
+	 * Reclaims sources left behind when the SoundManager stopped all sounds. The
+	 * journal is processed a batch at a time starting the tick after it was
+	 * written, giving the sound system thread a chance to process the stop
+	 * commands. The sound system lock is held only for a batch. If the sound
+	 * system is not loaded the journal is dropped as its sources went with it.
+	 */
+	private void reconcileOrphans() {
+		if (this.orphanJournal.isEmpty() || this.orphanTick == EnvironState.getTickCounter())
+			return;
+
+		final SoundSystem sndSystem = isSoundSystemLoaded() ? getSoundSystem() : null;
+		final Library library = sndSystem != null ? getSoundLibrary() : null;
+		if (library == null) {
+			this.orphanJournal.clear();
+			return;
+		}
+
+		final int end = this.orphanJournal.size();
+		final int start = Math.max(0, end - ORPHAN_BATCH_SIZE);
 		synchronized (SoundSystemConfig.THREAD_SYNC) {
-			final Map<String, Source> sounds = getSoundLibrary().getSources();
-			final List<String> remove = sounds.entrySet().stream().filter(e -> !playingSounds.containsKey(e.getKey()))
-					.map(e -> {
-						final Source src = e.getValue();
-						ModBase.log().debug("Killing orphaned sound [%s]",
-								src.filenameURL != null ? src.filenameURL.getFilename() : "UNKNOWN");
-						cleanupSource(src);
-						return e.getKey();
-					}).collect(Collectors.toList());
-			remove.forEach(id -> sndSystem.removeSource(id));
+			final Map<String, Source> sources = library.getSources();
+			for (int i = start; i < end; i++) {
+				final String id = this.orphanJournal.get(i);
+				final Source src = sources.get(id);
+				if (src != null) {
+					ModBase.log().debug("Killing orphaned sound [%s]",
+							src.filenameURL != null ? src.filenameURL.getFilename() : "UNKNOWN");
+					cleanupSource(src);
+					sndSystem.removeSource(id);
+				}
+			}
 		}
+		this.orphanJournal.removeElements(start, end);
 	}
 
 	private static void cleanupSource(final Source source) {
@@ -289,59 +518,94 @@ public final class SoundEngine {
 	}
 
 	/**
-	 * Run down our active sound list checking that they are still active. If they
-	 * aren't update the state accordingly.
+	 * Called by the SoundManager after it drops a finished sound from its playing
+	 * list. A repeating sound will have been placed in the delayed list. A stolen
+	 * voice that went back to waiting for a channel stays with the virtual
+	 * sounds.
+	 *
+	 * @param sound The sound that finished
+	 */
+	public void onSoundFinished(@Nonnull final ISound sound) {
+		if (this.playingCount > 0)
+			this.playingCount--;
+		this.sourceIds.remove(sound);
+		if (sound instanceof ISoundInstance && this.queuedSounds.contains(sound)) {
+			final ISoundInstance instance = (ISoundInstance) sound;
+			if (instance.getState() == SoundState.QUEUED) {
+				getDelayedSounds().remove(sound);
+			} else if (getDelayedSounds().containsKey(sound)) {
+				instance.setState(SoundState.DELAYED);
+			} else {
+				instance.setState(SoundState.DONE);
+				this.queuedSounds.remove(sound);
+			}
+		}
+	}
+
+	/**
+	 * Called by the SoundManager after a delayed sound has been handed to
+	 * playSound(). If the play succeeded the source event already moved the sound
+	 * to PLAYING.
+	 *
+	 * @param sound The sound released from the delayed list
+	 */
+	public void onDelayedSoundReleased(@Nonnull final ISound sound) {
+		if (sound instanceof ISoundInstance && this.queuedSounds.contains(sound)) {
+			final ISoundInstance instance = (ISoundInstance) sound;
+			if (instance.getState() == SoundState.DELAYED) {
+				instance.setState(SoundState.DONE);
+				this.queuedSounds.remove(sound);
+			}
+		}
+	}
+
+	/**
+	 * Called by the SoundManager before it stops and forgets all of its sounds.
+	 * Sounds waiting for a channel are not affected.
+	 */
+	public void onStopAllSounds() {
+		this.playingCount = 0;
+		this.orphanJournal.addAll(this.sourceIds.values());
+		this.sourceIds.clear();
+		this.orphanTick = EnvironState.getTickCounter();
+		this.queuedSounds.removeIf(sound -> {
+			if (sound.getState() == SoundState.QUEUED)
+				return false;
+			sound.setState(SoundState.DONE);
+			return true;
+		});
+	}
+
+	/**
+	 * Called by the SoundManager after it has unloaded the sound system, either
+	 * on shutdown or as part of a reload. The stop of all sounds made during the
+	 * unload journaled sources that were destroyed along with the sound system.
+	 */
+	public void onSoundSystemUnloaded() {
+		this.orphanJournal.clear();
+		this.sourceIds.clear();
+		this.playingCount = 0;
+	}
+
+	/**
+	 * Sound state transitions are applied as the SoundManager reports them. The
+	 * tick only has to refresh the cached volumes, check the playing count, reclaim
+	 * journaled orphans and send down waiting sounds if channels are available.
 	 *
 	 * @param event Event that was raised
 	 */
 	@SubscribeEvent(priority = EventPriority.LOW)
 	public void clientTick(@Nonnull final TickEvent.ClientTickEvent event) {
-		if (event.side == Side.CLIENT && event.phase == Phase.END) {
-			final Map<ISound, Integer> delayedSounds = getDelayedSounds();
-			final Map<ISound, String> playingInv = getPlayingSoundsInv();
-
-			// Process our queued sounds to make sure the state is appropriate. A sound can
-			// move between the playing sound list and the delayed sound list based on its
-			// attributes so we need to make sure we detect that.
-			//
-			// Note that we cannot rely on isSoundPlaying(). It can return FALSE even
-			// though the sound is in the internal playing lists. We only want to transition
-			// if the sound is in the playing lists or not.
-			this.queuedSounds.removeIf(sound -> {
-				switch (sound.getState()) {
-				case QUEUED:
-					// The sound is being held in the queue waiting for space
-					// in the Minecraft sound engine. If there is space, send
-					// it down.
-					if (canFitSound()) {
-						playSound0(sound);
-					}
-					break;
-				case DELAYED:
-					// The sound play is delayed. Check to see if Minecraft
-					// transitioned it's state.
-					if (!delayedSounds.containsKey(sound)) {
-						sound.setState(playingInv.containsKey(sound) ? SoundState.PLAYING : SoundState.DONE);
-					}
-					break;
-				case PLAYING:
-					// The sound is playing. Check to see if the Minecraft
-					// sound engine transitioned to a different state.
-					if (!playingInv.containsKey(sound)) {
-						sound.setState(delayedSounds.containsKey(sound) ? SoundState.DELAYED : SoundState.DONE);
-					}
-					break;
-				case NONE:
-					// This should not happen, but to be safe
-					sound.setState(SoundState.ERROR);
-					break;
-				default:
-					break;
-				}
-				// Remove all terminal sounds because they no longer
-				// need to be tracked.
-				return sound.getState().isTerminal();
-			});
+		if (event.side != Side.CLIENT)
+			return;
+
+		if (event.phase == Phase.START) {
+			refreshVolumes();
+		} else {
+			this.stolenVoices.clear();
+			resyncPlayingCount();
+			reconcileOrphans();
+			promoteVirtualSounds();
 		}
 	}
 
@@ -392,6 +656,14 @@ public final class SoundEngine {
 	public void onSoundSourceEvent(@Nonnull final SoundSourceEvent event) {
 		this.guard.check("playSound");
 		this.playedSoundId = event.getUuid();
+		this.playingCount++;
+		this.sourceIds.put(event.getSound(), event.getUuid());
+
+		// A delayed sound that is being replayed by the SoundManager
+		final ISound sound = event.getSound();
+		if (sound instanceof ISoundInstance && ((ISoundInstance) sound).getState() == SoundState.DELAYED
+				&& this.queuedSounds.contains(sound))
+			((ISoundInstance) sound).setState(SoundState.PLAYING);
 	}
 
 	/**
@@ -402,8 +674,10 @@ public final class SoundEngine {
 	@SubscribeEvent(priority = EventPriority.LOW)
 	public void diagnostics(final DiagnosticEvent.Gather event) {
 
-		event.output.add(TextFormatting.AQUA + "SoundSystem: " + currentSoundCount() + "/" + maxSounds);
+		event.output.add(TextFormatting.AQUA + "SoundSystem: " + currentSoundCount() + "/" + maxSounds + " ("
+				+ getPlayingSounds().size() + ")");
 		event.output.add(TextFormatting.AQUA + "Tracking   : " + this.queuedSounds.size());
+		event.output.add(TextFormatting.AQUA + "Virtual    : " + this.virtualSounds.size());
 
 		//@formatter:off
 		final List<String> results =
@@ -422,8 +696,41 @@ public final class SoundEngine {
 	public static float getVolume(@Nonnull final SoundCategory category) {
 		if (category == null || category == SoundCategory.MASTER)
 			return 1F;
+		if (!volumesValid)
+			refreshVolumes();
+		return categoryVolumes[category.ordinal()];
+	}
+
+	private static void refreshVolumes() {
 		final GameSettings settings = Minecraft.getMinecraft().gameSettings;
-		return settings != null ? settings.getSoundLevel(category) : 1.0F;
+		if (settings == null) {
+			Arrays.fill(categoryVolumes, 1F);
+			return;
+		}
+
+		for (final SoundCategory category : SoundCategory.values())
+			categoryVolumes[category.ordinal()] = settings.getSoundLevel(category);
+
+		try {
+			soundPhysicsVolume = soundPhysicsGlobalVolume.isAvailable() ? soundPhysicsGlobalVolume.get(null) : 1F;
+		} catch (final Exception ex) {
+			soundPhysicsVolume = 1F;
+		}
+
+		volumesValid = true;
+	}
+
+	/**
+	 * Called by the SoundManager when the volume of a category is changed. The
+	 * new level may not have been stored in the game settings yet.
+	 *
+	 * @param category The category being changed
+	 * @param volume   The new volume level for the category
+	 */
+	public static void onCategoryVolume(@Nonnull final SoundCategory category, final float volume) {
+		if (!volumesValid)
+			refreshVolumes();
+		categoryVolumes[category.ordinal()] = volume;
 	}
 
 	private static boolean fadeMusic(@Nonnull final ISound sound) {
@@ -454,15 +761,7 @@ public final class SoundEngine {
 	public static float getClampedVolume(@Nonnull final ISound sound) {
 		final float volumeScale = getVolumeScale(sound);
 		final float volume = sound.getVolume() * getVolume(sound.getCategory()) * volumeScale;
-		final float result = MathStuff.clamp(volume, 0.0F, 1.0F);
-
-		try {
-			if (soundPhysicsGlobalVolume.isAvailable())
-				return result * soundPhysicsGlobalVolume.get(null);
-		} catch (final Exception ex) {
-			;
-		}
-		return result;
+		return MathStuff.clamp(volume, 0.0F, 1.0F) * soundPhysicsVolume;
 	}
 
 	private static void alErrorCheck() {
@@ -0,0 +1,98 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.sound;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import net.minecraft.client.audio.ISound;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.SoundCategory;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Ranks sounds competing for channels in the sound engine. The rank is
+ * derived from the category of the sound, how loud it will be at the
+ * listener, and how long it has been waiting for a channel. Higher values are
+ * more important.
+ */
+@SideOnly(Side.CLIENT)
+final class SoundPriority {
+
+	// Weight given to a sound based on its category, indexed by ordinal
+	private static final float[] CATEGORY_WEIGHT = new float[SoundCategory.values().length];
+
+	// Waiting sounds gain up to this much priority so they do not starve
+	private static final float MAX_AGE_BONUS = 1F;
+	private static final int AGE_TICKS = 100;
+
+	static {
+		CATEGORY_WEIGHT[SoundCategory.MASTER.ordinal()] = 5F;
+		CATEGORY_WEIGHT[SoundCategory.MUSIC.ordinal()] = 5F;
+		CATEGORY_WEIGHT[SoundCategory.RECORDS.ordinal()] = 4F;
+		CATEGORY_WEIGHT[SoundCategory.HOSTILE.ordinal()] = 4F;
+		CATEGORY_WEIGHT[SoundCategory.PLAYERS.ordinal()] = 4F;
+		CATEGORY_WEIGHT[SoundCategory.VOICE.ordinal()] = 4F;
+		CATEGORY_WEIGHT[SoundCategory.NEUTRAL.ordinal()] = 3F;
+		CATEGORY_WEIGHT[SoundCategory.WEATHER.ordinal()] = 3F;
+		CATEGORY_WEIGHT[SoundCategory.BLOCKS.ordinal()] = 2F;
+		CATEGORY_WEIGHT[SoundCategory.AMBIENT.ordinal()] = 1F;
+	}
+
+	private SoundPriority() {
+
+	}
+
+	/**
+	 * Calculates the priority of a sound.
+	 *
+	 * @param sound     The sound to rank
+	 * @param listener  Entity hearing the sound, if known
+	 * @param waitTicks Number of ticks the sound has been waiting for a channel
+	 * @return Priority of the sound
+	 */
+	public static float of(@Nonnull final ISound sound, @Nullable final Entity listener, final int waitTicks) {
+		final SoundCategory category = sound.getCategory();
+		final float weight = category != null ? CATEGORY_WEIGHT[category.ordinal()] : 1F;
+		final float age = Math.min(waitTicks, AGE_TICKS) * MAX_AGE_BONUS / AGE_TICKS;
+		return weight * (0.25F + audibility(sound, listener)) + age;
+	}
+
+	/**
+	 * Estimates how loud the sound is at the listener in the range 0-1.
+	 */
+	public static float audibility(@Nonnull final ISound sound, @Nullable final Entity listener) {
+		final float rawVolume = SoundAudibility.getVolume(sound);
+		final float volume = Math.min(rawVolume, 1F);
+		if (listener == null || sound.getAttenuationType() == ISound.AttenuationType.NONE)
+			return volume;
+
+		final double dX = sound.getXPosF() - listener.posX;
+		final double dY = sound.getYPosF() - listener.posY;
+		final double dZ = sound.getZPosF() - listener.posZ;
+		return volume * SoundAudibility.attenuation(rawVolume, dX * dX + dY * dY + dZ * dZ);
+	}
+}
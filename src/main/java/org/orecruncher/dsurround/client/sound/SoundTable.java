@@ -0,0 +1,185 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.client.sound;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.expression.Condition;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Weighted selection over a fixed set of sound effects. The distinct
+ * conditions of the sounds are gathered when the table is built, and the
+ * outcome of checking them forms a signature. Each signature seen gets its own
+ * cumulative weight array so a selection is a condition sweep and a binary
+ * search rather than a fresh WeightTable per call.
+ */
+@SideOnly(Side.CLIENT)
+public final class SoundTable {
+
+	// Signatures are packed in a long so tables with more distinct conditions
+	// than that are built per call.
+	private static final int MAX_CONDITIONS = Long.SIZE;
+
+	private final SoundEffect[] sounds;
+	private final Condition[] conditions;
+	private final int[] conditionIdx;
+	private final Long2ObjectOpenHashMap<Selection> selections = new Long2ObjectOpenHashMap<>();
+
+	private long lastSignature = -1L;
+	private Selection lastSelection;
+
+	public SoundTable(@Nonnull final SoundEffect[] sounds) {
+		this.sounds = sounds;
+		this.conditionIdx = new int[sounds.length];
+
+		final Reference2IntOpenHashMap<Condition> distinct = new Reference2IntOpenHashMap<>();
+		distinct.defaultReturnValue(-1);
+		for (int i = 0; i < sounds.length; i++) {
+			final Condition cond = sounds[i].getConditions();
+			if (cond == Condition.ALWAYS) {
+				this.conditionIdx[i] = -1;
+			} else {
+				int idx = distinct.getInt(cond);
+				if (idx < 0) {
+					idx = distinct.size();
+					distinct.put(cond, idx);
+				}
+				this.conditionIdx[i] = idx;
+			}
+		}
+
+		this.conditions = new Condition[distinct.size()];
+		distinct.reference2IntEntrySet().forEach(e -> this.conditions[e.getIntValue()] = e.getKey());
+	}
+
+	/**
+	 * Picks a sound from those whose conditions currently hold, weighted by the
+	 * sound weight. Returns null if none of the sounds qualify.
+	 */
+	@Nullable
+	public SoundEffect next(@Nonnull final Random random) {
+		final Selection selection;
+		if (this.conditions.length > MAX_CONDITIONS) {
+			selection = new Selection(evaluate());
+		} else {
+			final long signature = signature();
+			if (signature != this.lastSignature || this.lastSelection == null) {
+				Selection s = this.selections.get(signature);
+				if (s == null) {
+					s = new Selection(expand(signature));
+					this.selections.put(signature, s);
+				}
+				this.lastSignature = signature;
+				this.lastSelection = s;
+			}
+			selection = this.lastSelection;
+		}
+		return selection.next(random);
+	}
+
+	private long signature() {
+		long signature = 0;
+		for (int i = 0; i < this.conditions.length; i++)
+			if (this.conditions[i].check())
+				signature |= 1L << i;
+		return signature;
+	}
+
+	@Nonnull
+	private boolean[] expand(final long signature) {
+		final boolean[] result = new boolean[this.conditions.length];
+		for (int i = 0; i < result.length; i++)
+			result[i] = (signature & (1L << i)) != 0;
+		return result;
+	}
+
+	@Nonnull
+	private boolean[] evaluate() {
+		final boolean[] result = new boolean[this.conditions.length];
+		for (int i = 0; i < result.length; i++)
+			result[i] = this.conditions[i].check();
+		return result;
+	}
+
+	private final class Selection {
+
+		private final SoundEffect[] items;
+		private final int[] cumulative;
+		private final int total;
+
+		public Selection(@Nonnull final boolean[] passed) {
+			int count = 0;
+			for (int i = 0; i < SoundTable.this.sounds.length; i++)
+				if (qualifies(i, passed))
+					count++;
+
+			this.items = new SoundEffect[count];
+			this.cumulative = new int[count];
+			int sum = 0;
+			int idx = 0;
+			for (int i = 0; i < SoundTable.this.sounds.length; i++) {
+				if (qualifies(i, passed)) {
+					final SoundEffect sound = SoundTable.this.sounds[i];
+					sum += sound.getWeight();
+					this.items[idx] = sound;
+					this.cumulative[idx++] = sum;
+				}
+			}
+			this.total = sum;
+		}
+
+		private boolean qualifies(final int i, @Nonnull final boolean[] passed) {
+			final int cond = SoundTable.this.conditionIdx[i];
+			return SoundTable.this.sounds[i].getWeight() > 0 && (cond < 0 || passed[cond]);
+		}
+
+		@Nullable
+		public SoundEffect next(@Nonnull final Random random) {
+			if (this.total <= 0)
+				return null;
+
+			// First entry whose running total exceeds the roll
+			final int roll = random.nextInt(this.total);
+			int low = 0;
+			int high = this.cumulative.length - 1;
+			while (low < high) {
+				final int mid = (low + high) >>> 1;
+				if (this.cumulative[mid] > roll)
+					high = mid;
+				else
+					low = mid + 1;
+			}
+			return this.items[low];
+		}
+	}
+}
@@ -34,10 +34,22 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public class ServerDrivenTracker extends SimulationTracker {
 
+	// How fast the rain intensity and thunder strength move toward the values
+	// sent by the server. Vanilla rain strength changes by this much a tick.
+	protected static final float STRENGTH_STEP = 0.01F;
+
 	protected int nextRainChange = 0;
 	protected float thunderStrength = 0.0F;
 	protected int nextThunderChange = 0;
 
+	// The server only sends an update when something changes or periodically.
+	// In between the timers are counted down and the strengths move toward the
+	// last values received.
+	protected boolean hasUpdate = false;
+	protected float currentIntensity = 0.0F;
+	protected float targetIntensity = 0.0F;
+	protected float targetThunderStrength = 0.0F;
+
 	@Override
 	protected String type() {
 		return "SERVER";
@@ -78,15 +90,46 @@ public class ServerDrivenTracker extends SimulationTracker {
 	public void update(@Nonnull final WeatherUpdateEvent event) {
 		this.maxIntensityLevel = event.maxRainIntensity;
 		this.nextRainChange = event.nextRainChange;
-		this.thunderStrength = event.thunderStrength;
 		this.nextThunderChange = event.nextThunderChange;
 		this.nextThunderEvent = event.nextThunderEvent;
-		setCurrentIntensity(event.rainIntensity);
+		this.targetIntensity = event.rainIntensity;
+		this.targetThunderStrength = event.thunderStrength;
+
+		// The first update, as well as starting and stopping, is taken as is
+		if (!this.hasUpdate || event.rainIntensity == 0F)
+			this.currentIntensity = event.rainIntensity;
+		if (!this.hasUpdate || event.thunderStrength == 0F)
+			this.thunderStrength = event.thunderStrength;
+		this.hasUpdate = true;
+
+		setCurrentIntensity(this.currentIntensity);
+	}
+
+	private static float approach(final float current, final float target) {
+		if (current < target)
+			return Math.min(current + STRENGTH_STEP, target);
+		return Math.max(current - STRENGTH_STEP, target);
 	}
 
 	@Override
 	public void update() {
-		// Don't want to do the simulation
+		// Don't want to do the simulation. Just extrapolate from the last
+		// update received from the server.
+		if (!this.hasUpdate)
+			return;
+
+		if (this.nextRainChange > 0)
+			this.nextRainChange--;
+		if (this.nextThunderChange > 0)
+			this.nextThunderChange--;
+		if (this.nextThunderEvent > 0)
+			this.nextThunderEvent--;
+
+		this.thunderStrength = approach(this.thunderStrength, this.targetThunderStrength);
+		if (this.currentIntensity != this.targetIntensity) {
+			this.currentIntensity = approach(this.currentIntensity, this.targetIntensity);
+			setCurrentIntensity(this.currentIntensity);
+		}
 	}
 
 }
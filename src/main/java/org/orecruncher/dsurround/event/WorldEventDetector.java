@@ -27,6 +27,7 @@ package org.orecruncher.dsurround.event;
 import javax.annotation.Nonnull;
 
 import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.client.fx.LightCache;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 
 import net.minecraft.block.state.IBlockState;
@@ -61,6 +62,8 @@ public class WorldEventDetector implements IWorldEventListener {
 	public void notifyBlockUpdate(@Nonnull final World worldIn, @Nonnull final BlockPos pos,
 			@Nonnull final IBlockState oldState, @Nonnull final IBlockState newState, final int flags) {
 
+		LightCache.invalidate(pos);
+
 		if (worldIn.provider.getDimension() == EnvironState.getDimensionId()) {
 			final BlockUpdateEvent event = new BlockUpdateEvent(worldIn, pos, oldState, newState, flags);
 			MinecraftForge.EVENT_BUS.post(event);
@@ -69,7 +72,7 @@ public class WorldEventDetector implements IWorldEventListener {
 
 	@Override
 	public void notifyLightSet(@Nonnull final BlockPos pos) {
-
+		LightCache.invalidate(pos);
 	}
 
 	@Override
@@ -24,9 +24,8 @@ package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
-public class BattleVariables extends DynamicVariantList {
+public class BattleVariables extends VariableList {
 
 	public BattleVariables() {
 		add(new Dynamic.DynamicBoolean("battle.inBattle", () -> EnvironState.getBattleScanner().inBattle()));
@@ -27,17 +27,16 @@ import java.util.Set;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.registry.biome.BiomeUtil;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraftforge.common.BiomeDictionary;
 
-public class BiomeTypeVariables extends DynamicVariantList {
+public class BiomeTypeVariables extends VariableList {
 
 	public BiomeTypeVariables() {
 		// Scan the BiomeDictionary adding the the types
 		final Set<BiomeDictionary.Type> types = BiomeUtil.getBiomeTypes();
 		for (final BiomeDictionary.Type t : types)
 			add(new Dynamic.DynamicBoolean("biome.is" + t.getName(),
-					() -> EnvironState.getTruePlayerBiome().isBiomeType(t)));
+					() -> EnvironState.getTruePlayerBiome().isBiomeType(t)), Dependency.BIOME);
 	}
 }
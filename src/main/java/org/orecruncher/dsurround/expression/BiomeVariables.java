@@ -24,17 +24,21 @@ package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
-public class BiomeVariables extends DynamicVariantList {
+public class BiomeVariables extends VariableList {
 
 	public BiomeVariables() {
-		add(new Dynamic.DynamicString("biome.name", () -> EnvironState.getBiomeName()));
-		add(new Dynamic.DynamicString("biome.id", () -> EnvironState.getPlayerBiome().getKey().toString()));
-		add(new Dynamic.DynamicString("biome.modid", () -> EnvironState.getPlayerBiome().getKey().getNamespace()));
+		add(new Dynamic.DynamicString("biome.name", () -> EnvironState.getBiomeName()), Dependency.BIOME);
+		add(new Dynamic.DynamicString("biome.id", () -> EnvironState.getPlayerBiome().getKey().toString()),
+				Dependency.BIOME);
+		add(new Dynamic.DynamicString("biome.modid", () -> EnvironState.getPlayerBiome().getKey().getNamespace()),
+				Dependency.BIOME);
 		add(new Dynamic.DynamicString("biome.temperature", () -> EnvironState.getBiomeTemperature().getValue()));
-		add(new Dynamic.DynamicNumber("biome.rainfall", () -> EnvironState.getPlayerBiome().getRainfall()));
-		add(new Dynamic.DynamicNumber("biome.temperatureValue", () -> EnvironState.getPlayerBiome().getTemperature()));
-		add(new Dynamic.DynamicString("biome.traits", () -> EnvironState.getPlayerBiome().getBiomeTraits()));
+		add(new Dynamic.DynamicNumber("biome.rainfall", () -> EnvironState.getPlayerBiome().getRainfall()),
+				Dependency.BIOME);
+		add(new Dynamic.DynamicNumber("biome.temperatureValue", () -> EnvironState.getPlayerBiome().getTemperature()),
+				Dependency.BIOME);
+		add(new Dynamic.DynamicString("biome.traits", () -> EnvironState.getPlayerBiome().getBiomeTraits()),
+				Dependency.BIOME);
 	}
 }
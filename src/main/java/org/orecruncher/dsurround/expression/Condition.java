@@ -0,0 +1,105 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.expression;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.lib.expression.Expression;
+
+/**
+ * A condition script that has been compiled once by the ExpressionEngine. The
+ * compiled form holds direct references to the dynamic variables so checking
+ * it does not require a lookup of the script text in the expression cache.
+ * Instances are shared between all users of the same script text.
+ */
+public class Condition {
+
+	public static final Condition ALWAYS = new Condition("", null, 0, false) {
+		@Override
+		public boolean check() {
+			return true;
+		}
+	};
+
+	private final String source;
+	private final Expression exp;
+	private final int dependencies;
+	private final boolean cacheable;
+	private boolean broken;
+
+	// Result of the last evaluation, good as long as the stamp of the
+	// dependencies has not changed.
+	private boolean result;
+	private long stamp = -1;
+
+	Condition(@Nonnull final String source, @Nullable final Expression exp, final int dependencies,
+			final boolean cacheable) {
+		this.source = source;
+		this.exp = exp;
+		this.dependencies = dependencies;
+		this.cacheable = cacheable;
+		this.broken = exp == null;
+	}
+
+	/**
+	 * Evaluates the condition. If none of the variables the script depends on
+	 * have been reset since the last evaluation the prior result is returned. A
+	 * script that fails to compile or evaluate is considered false from then on,
+	 * and is placed on the engine's naughty list.
+	 */
+	public boolean check() {
+		if (this.broken)
+			return false;
+		try {
+			if (!this.cacheable)
+				return this.exp.eval().asBoolean();
+
+			final long current = ExpressionEngine.instance().stamp(this.dependencies);
+			if (current != this.stamp) {
+				this.result = this.exp.eval().asBoolean();
+				this.stamp = current;
+			}
+			return this.result;
+		} catch (@Nonnull final Throwable t) {
+			this.broken = true;
+			ExpressionEngine.instance().markNaughty(this.source);
+			ModBase.log().error(String.format("Unable to execute script [%s]", this.source), t);
+		}
+		return false;
+	}
+
+	@Nonnull
+	public String getSource() {
+		return this.source;
+	}
+
+	@Override
+	@Nonnull
+	public String toString() {
+		return this.source;
+	}
+}
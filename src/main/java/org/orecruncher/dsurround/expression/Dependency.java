@@ -0,0 +1,70 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.expression;
+
+import java.util.function.LongSupplier;
+
+import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
+import org.orecruncher.dsurround.client.weather.Weather;
+
+/**
+ * The input a script variable is derived from. A variable is only reset when
+ * the key of its input changes, so it is important that the key captures
+ * everything the variable reads. When in doubt use TICK.
+ */
+public enum Dependency {
+
+	// Changes every tick, or nothing better is known
+	TICK(() -> 0L),
+	// Player block position within a dimension
+	POSITION(() -> EnvironState.getPlayerPosition().toLong() * 31L + EnvironState.getDimensionId()),
+	// The biome the player is in
+	BIOME(() -> ((long) System.identityHashCode(EnvironState.getPlayerBiome()) << 32)
+			| (System.identityHashCode(EnvironState.getTruePlayerBiome()) & 0xFFFFFFFFL)),
+	// Whether it is raining/thundering
+	WEATHER(() -> (Weather.isRaining() ? 1L : 0L) | (Weather.isThundering() ? 2L : 0L)),
+	// Part of the day
+	DIURNAL(() -> EnvironState.getDayCycle().ordinal()),
+	// The dimension/world the player is in
+	DIMENSION(() -> ((long) EnvironState.getDimensionId() << 32)
+			| (System.identityHashCode(EnvironState.getWorld()) & 0xFFFFFFFFL));
+
+	public static final Dependency[] VALUES = values();
+
+	private final LongSupplier key;
+
+	private Dependency(final LongSupplier key) {
+		this.key = key;
+	}
+
+	public long key() {
+		return this.key.getAsLong();
+	}
+
+	public int mask() {
+		return 1 << ordinal();
+	}
+
+}
@@ -24,18 +24,17 @@ package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraft.world.World;
 
-public class DimensionVariables extends DynamicVariantList {
+public class DimensionVariables extends VariableList {
 
 	public DimensionVariables() {
-		add(new Dynamic.DynamicNumber("dim.id", () -> (float) EnvironState.getDimensionId()));
-		add(new Dynamic.DynamicString("dim.name", () -> EnvironState.getDimensionName()));
+		add(new Dynamic.DynamicNumber("dim.id", () -> (float) EnvironState.getDimensionId()), Dependency.DIMENSION);
+		add(new Dynamic.DynamicString("dim.name", () -> EnvironState.getDimensionName()), Dependency.DIMENSION);
 		add(new Dynamic.DynamicBoolean("dim.hasSky", () -> {
 			final World world = EnvironState.getWorld();
 			return world != null && world.provider.hasSkyLight();
-		}));
+		}), Dependency.DIMENSION);
 	}
 }
\ No newline at end of file
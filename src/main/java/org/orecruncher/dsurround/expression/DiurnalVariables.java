@@ -26,17 +26,20 @@ import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironStat
 import org.orecruncher.lib.DiurnalUtils;
 import org.orecruncher.lib.DiurnalUtils.DayCycle;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
-public class DiurnalVariables extends DynamicVariantList {
+public class DiurnalVariables extends VariableList {
 
 	public DiurnalVariables() {
-		add(new Dynamic.DynamicBoolean("diurnal.isDay", () -> EnvironState.getDayCycle() == DayCycle.DAYTIME));
-		add(new Dynamic.DynamicBoolean("diurnal.isNight", () -> EnvironState.getDayCycle() == DayCycle.NIGHTTIME));
-		add(new Dynamic.DynamicBoolean("diurnal.isSunrise", () -> EnvironState.getDayCycle() == DayCycle.SUNRISE));
-		add(new Dynamic.DynamicBoolean("diurnal.isSunset", () -> EnvironState.getDayCycle() == DayCycle.SUNSET));
+		add(new Dynamic.DynamicBoolean("diurnal.isDay", () -> EnvironState.getDayCycle() == DayCycle.DAYTIME),
+				Dependency.DIURNAL);
+		add(new Dynamic.DynamicBoolean("diurnal.isNight", () -> EnvironState.getDayCycle() == DayCycle.NIGHTTIME),
+				Dependency.DIURNAL);
+		add(new Dynamic.DynamicBoolean("diurnal.isSunrise", () -> EnvironState.getDayCycle() == DayCycle.SUNRISE),
+				Dependency.DIURNAL);
+		add(new Dynamic.DynamicBoolean("diurnal.isSunset", () -> EnvironState.getDayCycle() == DayCycle.SUNSET),
+				Dependency.DIURNAL);
 		add(new Dynamic.DynamicBoolean("diurnal.isAuroraVisible", () -> EnvironState.getDayCycle() == DayCycle.SUNRISE
-				|| EnvironState.getDayCycle() == DayCycle.DAYTIME));
+				|| EnvironState.getDayCycle() == DayCycle.DAYTIME), Dependency.DIURNAL);
 		add(new Dynamic.DynamicNumber("diurnal.moonPhaseFactor",
 				() -> DiurnalUtils.getMoonPhaseFactor(EnvironState.getWorld())));
 		add(new Dynamic.DynamicNumber("diurnal.celestialAngle", () -> EnvironState.getWorld().getCelestialAngle(0)));
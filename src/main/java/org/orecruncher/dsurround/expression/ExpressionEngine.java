@@ -22,13 +22,23 @@
  */
 package org.orecruncher.dsurround.expression;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
 import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.lib.expression.Dynamic;
+import org.orecruncher.lib.expression.Expression;
 import org.orecruncher.lib.expression.ExpressionCache;
 import org.orecruncher.lib.expression.IDynamicVariant;
 import org.orecruncher.lib.expression.IVariant;
 
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+
 public final class ExpressionEngine {
 
 	private static ExpressionEngine instance;
@@ -40,20 +50,88 @@ public final class ExpressionEngine {
 	}
 
 	private final ExpressionCache cache = new ExpressionCache(ModBase.log());
+	private final Map<String, Condition> compiled = new Object2ObjectOpenHashMap<>();
+	private final List<String> naughtyList = new ArrayList<>();
+
+	// Forces a reset of all variables periodically to pick up changes in inputs
+	// that a dependency key does not capture, like a block placed above the
+	// player.
+	private static final int REFRESH_INTERVAL = 20;
+
+	// Variables grouped by the input they depend on, along with the last seen
+	// key of that input and an epoch that advances every time they are reset.
+	@SuppressWarnings("unchecked")
+	private final List<Dynamic>[] variables = new List[Dependency.VALUES.length];
+	private final long[] keys = new long[Dependency.VALUES.length];
+	private final long[] epochs = new long[Dependency.VALUES.length];
+	private int tickCount = 0;
 
 	private ExpressionEngine() {
-		this.cache.add(new BattleVariables());
-		this.cache.add(new BiomeTypeVariables());
-		this.cache.add(new BiomeVariables());
-		this.cache.add(new DimensionVariables());
-		this.cache.add(new DiurnalVariables());
-		this.cache.add(new PlayerVariables());
-		this.cache.add(new SeasonVariables());
-		this.cache.add(new WeatherVariables());
+		for (int i = 0; i < this.variables.length; i++)
+			this.variables[i] = new ArrayList<>();
+
+		register(new BattleVariables());
+		register(new BiomeTypeVariables());
+		register(new BiomeVariables());
+		register(new DimensionVariables());
+		register(new DiurnalVariables());
+		register(new PlayerVariables());
+		register(new SeasonVariables());
+		register(new WeatherVariables());
+	}
+
+	private void register(@Nonnull final VariableList list) {
+		this.cache.add(list);
+		for (int i = 0; i < list.variables.size(); i++)
+			this.variables[list.dependencies.get(i).ordinal()].add(list.variables.get(i));
 	}
 
+	/**
+	 * Resets the script variables whose inputs have changed since the last call so
+	 * they are reevaluated on next access. Variables that depend on the tick are
+	 * always reset.
+	 */
 	public void reset() {
-		this.cache.reset();
+		final boolean refresh = ++this.tickCount % REFRESH_INTERVAL == 0;
+		for (final Dependency d : Dependency.VALUES) {
+			final int idx = d.ordinal();
+			final long key = d.key();
+			if (refresh || d == Dependency.TICK || key != this.keys[idx]) {
+				this.keys[idx] = key;
+				this.epochs[idx]++;
+				for (final Dynamic v : this.variables[idx])
+					v.reset();
+			}
+		}
+	}
+
+	/**
+	 * Obtains a stamp for the set of dependencies in the mask. The stamp changes
+	 * whenever any of the variables for those dependencies are reset, so a cached
+	 * script result with the same stamp is still good.
+	 */
+	long stamp(final int mask) {
+		long result = 0;
+		for (int i = 0; i < this.epochs.length; i++)
+			if ((mask & (1 << i)) != 0)
+				result += this.epochs[i];
+		return result;
+	}
+
+	/**
+	 * Determines the dependencies of a script by looking for the names of the
+	 * variables it references. Scripts are case insensitive so the expression is
+	 * expected to be in lower case.
+	 */
+	private int dependencyMask(@Nonnull final String lowerExp) {
+		int mask = 0;
+		for (final Dependency d : Dependency.VALUES)
+			for (final Dynamic v : this.variables[d.ordinal()])
+				if (lowerExp.contains(v.getName().toLowerCase())) {
+					mask |= d.mask();
+					break;
+				}
+		return mask;
 	}
 
 	public List<IDynamicVariant> getVariables() {
@@ -65,7 +143,48 @@ public final class ExpressionEngine {
 	}
 
 	public List<String> getNaughtyList() {
-		return this.cache.getNaughtyList();
+		if (this.naughtyList.isEmpty())
+			return this.cache.getNaughtyList();
+		final List<String> result = new ArrayList<>(this.cache.getNaughtyList());
+		result.addAll(this.naughtyList);
+		return result;
+	}
+
+	void markNaughty(@Nonnull final String exp) {
+		if (!this.naughtyList.contains(exp))
+			this.naughtyList.add(exp);
+	}
+
+	/**
+	 * Compiles a condition script into a Condition that can be checked without
+	 * going through the expression cache. Intended to be called at registry load
+	 * so the cost of parsing is paid once. An empty script always passes.
+	 */
+	@Nonnull
+	public Condition compile(@Nullable final String exp) {
+		if (StringUtils.isEmpty(exp))
+			return Condition.ALWAYS;
+
+		Condition result = this.compiled.get(exp);
+		if (result == null) {
+			Expression expression = null;
+			try {
+				expression = new Expression(exp);
+				for (final IDynamicVariant v : this.cache.getVariantList())
+					expression.addVariable(v);
+				expression.getRPN();
+			} catch (@Nonnull final Throwable t) {
+				expression = null;
+				markNaughty(exp);
+				ModBase.log().error(String.format("Unable to compile script [%s]", exp), t);
+			}
+			// Scripts that could involve randomness are not safe to cache
+			final String lower = exp.toLowerCase();
+			final boolean cacheable = !lower.contains("rand") && !lower.contains("oneof");
+			result = new Condition(exp, expression, dependencyMask(lower), cacheable);
+			this.compiled.put(exp, result);
+		}
+		return result;
 	}
 
 	public boolean check(final String exp) {
@@ -24,7 +24,6 @@ package org.orecruncher.dsurround.expression;
 
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraft.block.material.Material;
 import net.minecraft.entity.item.EntityBoat;
@@ -32,7 +31,7 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 
-public class PlayerVariables extends DynamicVariantList {
+public class PlayerVariables extends VariableList {
 
 	public PlayerVariables() {
 		add(new Dynamic.DynamicBoolean("player.isHurt", () -> EnvironState.isPlayerHurt()));
@@ -52,9 +51,12 @@ public class PlayerVariables extends DynamicVariantList {
 		add(new Dynamic.DynamicBoolean("player.isInClouds", () -> EnvironState.isPlayerInClouds()));
 		add(new Dynamic.DynamicString("player.temperature", () -> EnvironState.getPlayerTemperature().getValue()));
 		add(new Dynamic.DynamicBoolean("player.inVillage", () -> EnvironState.inVillage()));
-		add(new Dynamic.DynamicNumber("player.X", () -> (float) EnvironState.getPlayerPosition().getX()));
-		add(new Dynamic.DynamicNumber("player.Y", () -> (float) EnvironState.getPlayerPosition().getY()));
-		add(new Dynamic.DynamicNumber("player.Z", () -> (float) EnvironState.getPlayerPosition().getZ()));
+		add(new Dynamic.DynamicNumber("player.X", () -> (float) EnvironState.getPlayerPosition().getX()),
+				Dependency.POSITION);
+		add(new Dynamic.DynamicNumber("player.Y", () -> (float) EnvironState.getPlayerPosition().getY()),
+				Dependency.POSITION);
+		add(new Dynamic.DynamicNumber("player.Z", () -> (float) EnvironState.getPlayerPosition().getZ()),
+				Dependency.POSITION);
 		add(new Dynamic.DynamicNumber("player.lightLevel", () -> (float) EnvironState.getLightLevel()));
 
 		add(new Dynamic.DynamicBoolean("player.isDead", () -> {
@@ -105,7 +107,7 @@ public class PlayerVariables extends DynamicVariantList {
 				return world.canBlockSeeSky(pos) && !(world.getTopSolidOrLiquidBlock(pos).getY() > pos.getY());
 			}
 			return false;
-		}));
+		}), Dependency.POSITION);
 		add(new Dynamic.DynamicBoolean("player.canSeeSky", () -> {
 			final World world = EnvironState.getWorld();
 			if (world != null) {
@@ -113,7 +115,7 @@ public class PlayerVariables extends DynamicVariantList {
 				return world.canBlockSeeSky(pos);
 			}
 			return false;
-		}));
+		}), Dependency.POSITION);
 		add(new Dynamic.DynamicBoolean("player.inBoat", () -> {
 			final EntityPlayer player = EnvironState.getPlayer();
 			return player != null && player.getRidingEntity() instanceof EntityBoat;
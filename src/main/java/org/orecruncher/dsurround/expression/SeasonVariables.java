@@ -25,11 +25,10 @@ package org.orecruncher.dsurround.expression;
 import org.orecruncher.dsurround.capabilities.CapabilitySeasonInfo;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraft.world.World;
 
-public class SeasonVariables extends DynamicVariantList {
+public class SeasonVariables extends VariableList {
 
 	public SeasonVariables() {
 		add(new Dynamic.DynamicString("season.season", () -> {
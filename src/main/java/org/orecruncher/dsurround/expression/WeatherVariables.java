@@ -27,18 +27,17 @@ import org.orecruncher.dsurround.capabilities.season.ISeasonInfo;
 import org.orecruncher.dsurround.client.handlers.EnvironStateHandler.EnvironState;
 import org.orecruncher.dsurround.client.weather.Weather;
 import org.orecruncher.lib.expression.Dynamic;
-import org.orecruncher.lib.expression.DynamicVariantList;
 
 import net.minecraft.world.World;
 
-public class WeatherVariables extends DynamicVariantList {
+public class WeatherVariables extends VariableList {
 
 	public WeatherVariables() {
-		add(new Dynamic.DynamicBoolean("weather.isRaining", () -> Weather.isRaining()));
-		add(new Dynamic.DynamicBoolean("weather.isThundering", () -> Weather.isThundering()));
+		add(new Dynamic.DynamicBoolean("weather.isRaining", () -> Weather.isRaining()), Dependency.WEATHER);
+		add(new Dynamic.DynamicBoolean("weather.isThundering", () -> Weather.isThundering()), Dependency.WEATHER);
 		add(new Dynamic.DynamicString("weather.temperature", () -> EnvironState.getBiomeTemperature().getValue()));
-		add(new Dynamic.DynamicBoolean("weather.isNotRaining", () -> !Weather.isRaining()));
-		add(new Dynamic.DynamicBoolean("weather.isNotThundering", () -> !Weather.isThundering()));
+		add(new Dynamic.DynamicBoolean("weather.isNotRaining", () -> !Weather.isRaining()), Dependency.WEATHER);
+		add(new Dynamic.DynamicBoolean("weather.isNotThundering", () -> !Weather.isThundering()), Dependency.WEATHER);
 		add(new Dynamic.DynamicNumber("weather.rainfall", () -> (float) Weather.getIntensityLevel()));
 		add(new Dynamic.DynamicNumber("weather.temperatureValue", () -> {
 			final World world = EnvironState.getWorld();
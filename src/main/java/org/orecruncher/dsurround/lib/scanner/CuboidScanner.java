@@ -33,6 +33,8 @@ import org.orecruncher.lib.chunk.IBlockAccessEx;
 
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
 /**
@@ -40,11 +42,21 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
  */
 public abstract class CuboidScanner extends Scanner {
 
+	// Fewest sections that are indexed in a tick. A full volume at the default
+	// ranges spans roughly 64 sections, so this bounds a reindex to about the
+	// time a plain full scan would take.
+	protected static final int MIN_SECTIONS_PER_TICK = 4;
+
 	// Iteration variables
 	protected boolean scanFinished = false;
 	protected Cuboid activeCuboid;
 	protected CuboidPointIterator fullRange;
 
+	// Optional per section index of interesting blocks
+	protected SectionIndex sectionIndex;
+	protected SectionIndex.Walker indexedRange;
+	protected int sectionsPerTick;
+
 	// State of last tick
 	protected BlockPos lastPos;
 	protected int lastReference = 0;
@@ -68,6 +80,28 @@ public abstract class CuboidScanner extends Scanner {
 		return this.scanFinished;
 	}
 
+	/**
+	 * Has the scanner maintain a per section index of interesting blocks. Full and
+	 * delta scans will only visit the blocks in the index rather than every block
+	 * in the volume. Should only be enabled by scanners whose interestingBlock()
+	 * is sparse and depends solely on the block state.
+	 */
+	protected void enableSectionIndex() {
+		this.sectionIndex = new SectionIndex(this::interestingBlock);
+		this.sectionsPerTick = Math.max(MIN_SECTIONS_PER_TICK, this.blocksPerTick / SectionIndex.SECTION_VOLUME);
+	}
+
+	/**
+	 * Discards the section index and forces a full rescan. Needed when the
+	 * criteria for interestingBlock() changes, such as a registry reload.
+	 */
+	protected void invalidateSectionIndex() {
+		if (this.sectionIndex != null) {
+			this.sectionIndex.clear();
+			this.fullRange = null;
+		}
+	}
+
 	protected BlockPos[] getMinMaxPointsForVolume(@Nonnull final BlockPos pos) {
 		BlockPos min = pos.add(-this.xRange, -this.yRange, -this.zRange);
 		final BlockPos max = pos.add(this.xRange, this.yRange, this.zRange);
@@ -84,6 +118,10 @@ public abstract class CuboidScanner extends Scanner {
 	}
 
 	protected void resetFullScan() {
+		// Index is only good for the world it was built from
+		if (this.sectionIndex != null && this.locus.getReference() != this.lastReference)
+			this.sectionIndex.clear();
+
 		this.lastPos = this.locus.getCenter();
 		this.lastReference = this.locus.getReference();
 		this.scanFinished = false;
@@ -91,6 +129,18 @@ public abstract class CuboidScanner extends Scanner {
 		final BlockPos[] points = getMinMaxPointsForVolume(this.lastPos);
 		this.activeCuboid = new Cuboid(points);
 		this.fullRange = new CuboidPointIterator(points);
+
+		if (this.sectionIndex != null)
+			this.indexedRange = this.sectionIndex.walker(this.locus.getWorld().getWorld(), this.activeCuboid, null,
+					true);
+	}
+
+	@Override
+	public void preScan() {
+		// Limit the number of sections that are indexed in a tick to roughly the
+		// number of blocks the scanner would otherwise look at.
+		if (this.indexedRange != null)
+			this.indexedRange.resume(this.sectionsPerTick);
 	}
 
 	@Override
@@ -161,30 +211,42 @@ public abstract class CuboidScanner extends Scanner {
 
 	}
 
+	@Override
+	protected void dispatch(final int type, @Nonnull final IBlockState state, @Nonnull final BlockPos pos) {
+		if (type == HIT_UNSCAN)
+			blockUnscan(state, pos, this.random);
+		else
+			super.dispatch(type, state, pos);
+	}
+
 	protected void updateScan(@Nonnull final Cuboid newVolume, @Nonnull final Cuboid oldVolume,
 			@Nonnull final Cuboid intersect) {
 
 		final IBlockAccessEx provider = this.locus.getWorld();
 
 		if (doBlockUnscan()) {
-			final ComplementsPointIterator newOutOfRange = new ComplementsPointIterator(oldVolume, intersect);
+			final IPointIterator newOutOfRange = this.sectionIndex != null
+					? this.sectionIndex.walker(provider.getWorld(), oldVolume, intersect, false)
+					: new ComplementsPointIterator(oldVolume, intersect);
 			// Notify on the blocks going out of range
 			for (BlockPos point = newOutOfRange.next(); point != null; point = newOutOfRange.next()) {
 				if (point.getY() > 0) {
 					final IBlockState state = provider.getBlockState(point);
 					if (interestingBlock(state))
-						blockUnscan(state, point, this.random);
+						foundBlock(HIT_UNSCAN, state, point);
 				}
 			}
 		}
 
 		// Notify on blocks coming into range
-		final ComplementsPointIterator newInRange = new ComplementsPointIterator(newVolume, intersect);
+		final IPointIterator newInRange = this.sectionIndex != null
+				? this.sectionIndex.walker(provider.getWorld(), newVolume, intersect, false)
+				: new ComplementsPointIterator(newVolume, intersect);
 		for (BlockPos point = newInRange.next(); point != null; point = newInRange.next()) {
 			if (point.getY() > 0) {
 				final IBlockState state = provider.getBlockState(point);
 				if (interestingBlock(state))
-					blockScan(state, point, this.random);
+					foundBlock(HIT_SCAN, state, point);
 			}
 		}
 
@@ -198,6 +260,9 @@ public abstract class CuboidScanner extends Scanner {
 		if (this.scanFinished)
 			return null;
 
+		if (this.indexedRange != null)
+			return nextIndexedPos();
+
 		final IBlockAccessEx provider = this.locus.getWorld();
 
 		int checked = 0;
@@ -228,6 +293,21 @@ public abstract class CuboidScanner extends Scanner {
 		return null;
 	}
 
+	@Nullable
+	protected BlockPos nextIndexedPos() {
+		BlockPos point = null;
+		while ((point = this.indexedRange.next()) != null) {
+			if (point.getY() > 0)
+				return point;
+		}
+
+		// If the walk stalled a chunk isn't loaded or the tick budget is used up.
+		// Pick up where it left off next tick.
+		if (!this.indexedRange.isStalled())
+			this.scanFinished = true;
+		return null;
+	}
+
 	protected boolean isInteresting(@Nonnull final BlockUpdateEvent event) {
 		if (this.activeCuboid == null || event.oldState == event.newState)
 			return false;
@@ -244,6 +324,8 @@ public abstract class CuboidScanner extends Scanner {
 	@SubscribeEvent(receiveCanceled = false)
 	public void onBlockUpdate(@Nonnull final BlockUpdateEvent event) {
 		try {
+			if (this.sectionIndex != null)
+				this.sectionIndex.update(event.pos, event.newState);
 			if (isInteresting(event)) {
 				blockScan(event.newState, event.pos, this.random);
 			}
@@ -252,4 +334,20 @@ public abstract class CuboidScanner extends Scanner {
 		}
 	}
 
-}
\ No newline at end of file
+	@SubscribeEvent
+	public void onChunkLoad(@Nonnull final ChunkEvent.Load event) {
+		if (this.sectionIndex != null && event.getWorld().isRemote) {
+			final Chunk chunk = event.getChunk();
+			this.sectionIndex.invalidateChunk(chunk.x, chunk.z);
+		}
+	}
+
+	@SubscribeEvent
+	public void onChunkUnload(@Nonnull final ChunkEvent.Unload event) {
+		if (this.sectionIndex != null && event.getWorld().isRemote) {
+			final Chunk chunk = event.getChunk();
+			this.sectionIndex.invalidateChunk(chunk.x, chunk.z);
+		}
+	}
+
+}
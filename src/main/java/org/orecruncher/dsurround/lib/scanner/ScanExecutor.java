@@ -0,0 +1,133 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.lib.scanner;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Runs a group of scanners in parallel. Block sampling happens on worker
+ * threads while the calling thread waits for them to complete. Blocks of
+ * interest are queued by each scanner and are dispatched on the calling thread
+ * once all the scanners have finished.
+ *
+ * Thread safety comes from two things. The calling thread (the client tick) is
+ * blocked while the workers sample, so the world and the chunk cache are not
+ * changing underneath them and block update events for the scanners cannot
+ * fire. Block effects, including BlockEffect.canTrigger(), are never run on a
+ * worker since they only see the queued blocks during dispatch.
+ */
+public final class ScanExecutor {
+
+	private final String name;
+	private final Scanner[] scanners;
+	private final Future<?>[] pending;
+	private ExecutorService pool;
+
+	public ScanExecutor(@Nonnull final String name, @Nonnull final Scanner... scanners) {
+		this.name = name;
+		this.scanners = scanners;
+		this.pending = new Future<?>[scanners.length];
+	}
+
+	/**
+	 * Updates the scanners. If parallel is false, or there are not enough cores to
+	 * make it worthwhile, the scanners are updated serially on the calling thread.
+	 */
+	public void update(final boolean parallel) {
+		if (!parallel || !canRunParallel()) {
+			for (final Scanner s : this.scanners)
+				s.update();
+			return;
+		}
+
+		if (this.pool == null)
+			this.pool = createPool();
+
+		for (final Scanner s : this.scanners)
+			s.setDeferred(true);
+
+		Throwable failure = null;
+		try {
+			// The calling thread takes the first scanner rather than sitting idle
+			for (int i = 1; i < this.scanners.length; i++)
+				this.pending[i] = this.pool.submit(this.scanners[i]);
+			this.scanners[0].update();
+		} finally {
+			// Always wait for the workers so nothing is touching a scanner once
+			// dispatch starts.
+			for (int i = 1; i < this.scanners.length; i++) {
+				final Future<?> f = this.pending[i];
+				if (f == null)
+					continue;
+				try {
+					Uninterruptibles.getUninterruptibly(f);
+				} catch (final ExecutionException ex) {
+					if (failure == null)
+						failure = ex.getCause();
+				}
+				this.pending[i] = null;
+			}
+
+			for (final Scanner s : this.scanners) {
+				s.setDeferred(false);
+				s.dispatchDeferred();
+			}
+		}
+
+		if (failure != null)
+			throw new RuntimeException("Scanner failure", failure);
+	}
+
+	/**
+	 * Stops the worker threads. They will be recreated if needed on the next
+	 * parallel update.
+	 */
+	public void shutdown() {
+		if (this.pool != null) {
+			this.pool.shutdownNow();
+			this.pool = null;
+		}
+	}
+
+	private boolean canRunParallel() {
+		return this.scanners.length > 1 && Runtime.getRuntime().availableProcessors() > 2;
+	}
+
+	@Nonnull
+	private ExecutorService createPool() {
+		final int threads = Math.min(this.scanners.length - 1, Runtime.getRuntime().availableProcessors() - 2);
+		return Executors.newFixedThreadPool(Math.max(threads, 1),
+				new ThreadFactoryBuilder().setNameFormat(this.name + " %d").setDaemon(true).build());
+	}
+
+}
@@ -23,6 +23,7 @@
 
 package org.orecruncher.dsurround.lib.scanner;
 
+import java.util.Arrays;
 import java.util.Random;
 import java.util.concurrent.Callable;
 
@@ -59,6 +60,17 @@ public abstract class Scanner implements ITickable, Callable<Void> {
 	protected final Random random = new XorShiftRandom();
 	protected final BlockPos.MutableBlockPos workingPos = new BlockPos.MutableBlockPos();
 
+	// When deferred, blocks of interest are queued rather than being handed
+	// to blockScan() right away. See ScanExecutor.
+	protected static final int HIT_SCAN = 0;
+	protected static final int HIT_UNSCAN = 1;
+
+	private boolean deferred = false;
+	private IBlockState[] hitStates = new IBlockState[64];
+	private int[] hitData = new int[64 * 4];
+	private int hitCount = 0;
+	private final BlockPos.MutableBlockPos dispatchPos = new BlockPos.MutableBlockPos();
+
 	protected ModLog log;
 
 	public Scanner(@Nonnull final ScanLocus locus, @Nonnull final String name, final int range) {
@@ -122,6 +134,57 @@ public abstract class Scanner implements ITickable, Callable<Void> {
 		return state != Blocks.AIR.getDefaultState();
 	}
 
+	/**
+	 * Enables or disables deferred dispatch. While deferred, blocks of interest
+	 * found by the scan are queued and are not passed to blockScan() until
+	 * dispatchDeferred() is called. This allows the sampling to happen on a
+	 * worker thread while the effects are triggered on the client thread.
+	 */
+	public void setDeferred(final boolean flag) {
+		this.deferred = flag;
+	}
+
+	/**
+	 * Invoked by the scan logic when a block of interest is found. Depending on
+	 * the deferred state the block will be dispatched immediately or queued.
+	 */
+	protected void foundBlock(final int type, @Nonnull final IBlockState state, @Nonnull final BlockPos pos) {
+		if (!this.deferred) {
+			dispatch(type, state, pos);
+			return;
+		}
+
+		if (this.hitCount == this.hitStates.length) {
+			this.hitStates = Arrays.copyOf(this.hitStates, this.hitCount * 2);
+			this.hitData = Arrays.copyOf(this.hitData, this.hitCount * 2 * 4);
+		}
+
+		final int idx = this.hitCount * 4;
+		this.hitStates[this.hitCount++] = state;
+		this.hitData[idx] = type;
+		this.hitData[idx + 1] = pos.getX();
+		this.hitData[idx + 2] = pos.getY();
+		this.hitData[idx + 3] = pos.getZ();
+	}
+
+	/**
+	 * Hands the blocks of interest queued while deferred to the scanner. Has to
+	 * be called on the client thread.
+	 */
+	public void dispatchDeferred() {
+		for (int i = 0; i < this.hitCount; i++) {
+			final int idx = i * 4;
+			this.dispatchPos.setPos(this.hitData[idx + 1], this.hitData[idx + 2], this.hitData[idx + 3]);
+			dispatch(this.hitData[idx], this.hitStates[i], this.dispatchPos);
+			this.hitStates[i] = null;
+		}
+		this.hitCount = 0;
+	}
+
+	protected void dispatch(final int type, @Nonnull final IBlockState state, @Nonnull final BlockPos pos) {
+		blockScan(state, pos, this.random);
+	}
+
 	@Override
 	public Void call() {
 		update();
@@ -148,7 +211,7 @@ public abstract class Scanner implements ITickable, Callable<Void> {
 				break;
 			final IBlockState state = provider.getBlockState(pos);
 			if (interestingBlock(state)) {
-				blockScan(state, pos, this.random);
+				foundBlock(HIT_SCAN, state, pos);
 			}
 		}
 
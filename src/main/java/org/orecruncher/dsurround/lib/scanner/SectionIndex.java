@@ -0,0 +1,322 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.lib.scanner;
+
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+/**
+ * Maintains a bitmap per 16x16x16 chunk section of the block positions that
+ * hold a state of interest. A section is indexed the first time it is touched
+ * after its chunk loads, and after that is kept current by block updates.
+ * Empty sections (all air) are recognized without looking at their blocks and
+ * are never walked.
+ */
+public class SectionIndex {
+
+	public static final int SECTION_VOLUME = 16 * 16 * 16;
+	private static final int SECTION_WORDS = SECTION_VOLUME / 64;
+	private static final long[] EMPTY = new long[0];
+
+	protected final Predicate<IBlockState> filter;
+	protected final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+
+	public SectionIndex(@Nonnull final Predicate<IBlockState> filter) {
+		this.filter = filter;
+	}
+
+	private static long key(final int cx, final int cy, final int cz) {
+		return ((cx & 0x3FFFFFL) << 26) | ((cz & 0x3FFFFFL) << 4) | (cy & 0xFL);
+	}
+
+	private static int bitIndex(final int x, final int y, final int z) {
+		return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+	}
+
+	public boolean isIndexed(final int cx, final int cy, final int cz) {
+		return this.sections.containsKey(key(cx, cy, cz));
+	}
+
+	/**
+	 * Obtains the bitmap for the section, indexing it if needed. Returns null if
+	 * the chunk holding the section is not loaded.
+	 */
+	@Nullable
+	public long[] getSection(@Nonnull final World world, final int cx, final int cy, final int cz) {
+		final long key = key(cx, cy, cz);
+		long[] bits = this.sections.get(key);
+		if (bits == null) {
+			bits = indexSection(world, cx, cy, cz);
+			if (bits != null)
+				this.sections.put(key, bits);
+		}
+		return bits;
+	}
+
+	@Nullable
+	protected long[] indexSection(@Nonnull final World world, final int cx, final int cy, final int cz) {
+		final Chunk chunk = world.getChunkProvider().getLoadedChunk(cx, cz);
+		if (chunk == null)
+			return null;
+
+		final ExtendedBlockStorage storage = chunk.getBlockStorageArray()[cy];
+		if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty())
+			return EMPTY;
+
+		long[] bits = null;
+		for (int i = 0; i < SECTION_VOLUME; i++) {
+			final IBlockState state = storage.get(i & 15, i >> 8, (i >> 4) & 15);
+			if (this.filter.test(state)) {
+				if (bits == null)
+					bits = new long[SECTION_WORDS];
+				bits[i >> 6] |= 1L << (i & 63);
+			}
+		}
+
+		return bits == null ? EMPTY : bits;
+	}
+
+	/**
+	 * Updates the index with a block change. Sections that have not been indexed
+	 * are ignored since they will pick up the change when they are.
+	 */
+	public void update(@Nonnull final BlockPos pos, @Nonnull final IBlockState state) {
+		if (pos.getY() < 0 || pos.getY() >= 256)
+			return;
+
+		final long key = key(pos.getX() >> 4, pos.getY() >> 4, pos.getZ() >> 4);
+		long[] bits = this.sections.get(key);
+		if (bits == null)
+			return;
+
+		final int i = bitIndex(pos.getX(), pos.getY(), pos.getZ());
+		if (this.filter.test(state)) {
+			if (bits == EMPTY) {
+				bits = new long[SECTION_WORDS];
+				this.sections.put(key, bits);
+			}
+			bits[i >> 6] |= 1L << (i & 63);
+		} else if (bits != EMPTY) {
+			bits[i >> 6] &= ~(1L << (i & 63));
+		}
+	}
+
+	public void invalidateChunk(final int cx, final int cz) {
+		for (int cy = 0; cy < 16; cy++)
+			this.sections.remove(key(cx, cy, cz));
+	}
+
+	public void clear() {
+		this.sections.clear();
+	}
+
+	/**
+	 * Creates an iterator over the interesting points of the volume. If an exclude
+	 * volume is provided points within it are skipped. When deferring, a section
+	 * whose chunk is not loaded stalls the walk so it can be resumed on a later
+	 * tick; otherwise the section is skipped.
+	 */
+	@Nonnull
+	public Walker walker(@Nonnull final World world, @Nonnull final Cuboid volume, @Nullable final Cuboid exclude,
+			final boolean defer) {
+		return new Walker(world, volume, exclude, defer);
+	}
+
+	/**
+	 * Implements a "peeking" iterator over the set bits of the sections
+	 * intersecting a volume. The iterator uses a mutable for position so it isn't
+	 * safe to cache.
+	 */
+	public class Walker implements IPointIterator {
+
+		private final World world;
+		private final Cuboid exclude;
+		private final boolean defer;
+		private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+
+		private final int minX, minY, minZ;
+		private final int maxX, maxY, maxZ;
+		private final int minCX, minCY, minCZ;
+		private final int spanCX, spanCZ;
+		private final int sectionCount;
+
+		private int section;
+		private long[] bits;
+		private int bit;
+		private int baseX, baseY, baseZ;
+
+		private int budget = -1;
+		private boolean stalled;
+		private boolean hasPeeked;
+		private BlockPos peeked;
+
+		protected Walker(@Nonnull final World world, @Nonnull final Cuboid volume, @Nullable final Cuboid exclude,
+				final boolean defer) {
+			this.world = world;
+			this.exclude = exclude;
+			this.defer = defer;
+
+			final BlockPos min = volume.minimum();
+			final BlockPos max = volume.maximum();
+			this.minX = min.getX();
+			this.minY = Math.max(min.getY(), 0);
+			this.minZ = min.getZ();
+			this.maxX = max.getX();
+			this.maxY = Math.min(max.getY(), 255);
+			this.maxZ = max.getZ();
+
+			this.minCX = this.minX >> 4;
+			this.minCY = this.minY >> 4;
+			this.minCZ = this.minZ >> 4;
+			this.spanCX = (this.maxX >> 4) - this.minCX + 1;
+			this.spanCZ = (this.maxZ >> 4) - this.minCZ + 1;
+			final int spanCY = (this.maxY >> 4) - this.minCY + 1;
+			this.sectionCount = spanCY > 0 ? this.spanCX * this.spanCZ * spanCY : 0;
+		}
+
+		/**
+		 * Sets the number of sections that can be indexed before the walk stalls. A
+		 * negative value means no limit. Clears a prior stall.
+		 */
+		public void resume(final int sectionBudget) {
+			this.budget = sectionBudget;
+			if (this.stalled) {
+				this.stalled = false;
+				this.hasPeeked = false;
+			}
+		}
+
+		/**
+		 * Indicates whether the walk stopped short of the end of the volume.
+		 */
+		public boolean isStalled() {
+			return this.stalled;
+		}
+
+		@Override
+		@Nullable
+		public BlockPos next() {
+			final BlockPos result = peek();
+			this.hasPeeked = false;
+			return result;
+		}
+
+		@Override
+		@Nullable
+		public BlockPos peek() {
+			if (!this.hasPeeked) {
+				this.peeked = this.stalled ? null : advance();
+				this.hasPeeked = true;
+			}
+			return this.peeked;
+		}
+
+		@Nullable
+		private BlockPos advance() {
+			while (true) {
+				if (this.bits == null && !nextSection())
+					return null;
+
+				while (this.bit < SECTION_VOLUME) {
+					final int word = this.bit >> 6;
+					final long w = this.bits[word] >>> (this.bit & 63);
+					if (w == 0) {
+						this.bit = (word + 1) << 6;
+						continue;
+					}
+
+					final int i = this.bit + Long.numberOfTrailingZeros(w);
+					this.bit = i + 1;
+
+					final int x = this.baseX + (i & 15);
+					final int y = this.baseY + (i >> 8);
+					final int z = this.baseZ + ((i >> 4) & 15);
+					if (x < this.minX || x > this.maxX || y < this.minY || y > this.maxY || z < this.minZ
+							|| z > this.maxZ)
+						continue;
+
+					this.pos.setPos(x, y, z);
+					if (this.exclude != null && this.exclude.contains(this.pos))
+						continue;
+
+					return this.pos;
+				}
+
+				this.bits = null;
+				this.section++;
+			}
+		}
+
+		private boolean nextSection() {
+			while (this.section < this.sectionCount) {
+				final int cx = this.minCX + this.section % this.spanCX;
+				final int cz = this.minCZ + (this.section / this.spanCX) % this.spanCZ;
+				final int cy = this.minCY + this.section / (this.spanCX * this.spanCZ);
+
+				final boolean indexed = isIndexed(cx, cy, cz);
+				if (!indexed && this.budget == 0) {
+					this.stalled = true;
+					return false;
+				}
+
+				final long[] b = getSection(this.world, cx, cy, cz);
+				if (b == null) {
+					if (this.defer) {
+						this.stalled = true;
+						return false;
+					}
+				} else {
+					// Every section indexed counts against the budget, even
+					// those without anything of interest.
+					if (!indexed && this.budget > 0)
+						this.budget--;
+					if (b == EMPTY) {
+						this.section++;
+						continue;
+					}
+					this.bits = b;
+					this.bit = 0;
+					this.baseX = cx << 4;
+					this.baseY = cy << 4;
+					this.baseZ = cz << 4;
+					return true;
+				}
+
+				this.section++;
+			}
+			return false;
+		}
+	}
+
+}
@@ -43,4 +43,7 @@ public interface ISoundManagerMixin {
 	@Accessor("delayedSounds")
 	Map<ISound, Integer> getDelayedSounds();
 
+	@Accessor("loaded")
+	boolean isLoaded();
+
 }
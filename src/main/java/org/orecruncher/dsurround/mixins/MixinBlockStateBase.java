@@ -25,15 +25,17 @@
 package org.orecruncher.dsurround.mixins;
 
 import org.orecruncher.dsurround.registry.IDataAccessor;
+import org.orecruncher.dsurround.registry.IStateIndex;
 import org.orecruncher.dsurround.registry.blockstate.BlockStateData;
 import org.spongepowered.asm.mixin.Mixin;
 
 import net.minecraft.block.state.BlockStateBase;
 
 @Mixin(BlockStateBase.class)
-public abstract class MixinBlockStateBase implements IDataAccessor<BlockStateData> {
+public abstract class MixinBlockStateBase implements IDataAccessor<BlockStateData>, IStateIndex {
 
 	private BlockStateData dsurround_blockstate_info = null;
+	private int dsurround_blockstate_index = -1;
 
 	@Override
 	public BlockStateData getData() {
@@ -44,4 +46,14 @@ public abstract class MixinBlockStateBase implements IDataAccessor<BlockStateDat
 	public void setData(BlockStateData data) {
 		this.dsurround_blockstate_info = data;
 	}
+
+	@Override
+	public int getStateIndex() {
+		return this.dsurround_blockstate_index;
+	}
+
+	@Override
+	public void setStateIndex(final int index) {
+		this.dsurround_blockstate_index = index;
+	}
 }
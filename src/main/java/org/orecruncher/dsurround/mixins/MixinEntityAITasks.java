@@ -0,0 +1,51 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.mixins;
+
+import org.orecruncher.dsurround.capabilities.entitydata.ITaskMonitor;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.entity.ai.EntityAITasks;
+
+@Mixin(EntityAITasks.class)
+public abstract class MixinEntityAITasks implements ITaskMonitor {
+
+	private int dsurround_task_changes = 0;
+
+	@Override
+	public int getTaskChanges() {
+		return this.dsurround_task_changes;
+	}
+
+	@Inject(method = { "onUpdateTasks()V", "removeTask(Lnet/minecraft/entity/ai/EntityAIBase;)V" }, at = {
+			@At(value = "INVOKE", target = "Lnet/minecraft/entity/ai/EntityAIBase;startExecuting()V"),
+			@At(value = "INVOKE", target = "Lnet/minecraft/entity/ai/EntityAIBase;resetTask()V") })
+	private void taskChanged(final CallbackInfo ci) {
+		this.dsurround_task_changes++;
+	}
+}
@@ -23,21 +23,81 @@
  */
 package org.orecruncher.dsurround.mixins;
 
+import java.util.Map;
+
 import org.orecruncher.dsurround.client.sound.SoundEngine;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.audio.ISound;
 import net.minecraft.client.audio.SoundManager;
 import net.minecraft.client.gui.GuiScreen;
+import net.minecraft.util.SoundCategory;
 import net.minecraftforge.fml.client.GuiErrorBase;
 
 @Mixin(SoundManager.class)
 public abstract class MixinSoundManager {
 
+	// Sound of the entry being examined by updateAllSounds(). It is captured as
+	// the loops read it from the map entry: the playing loop calls getValue()
+	// once, and the delayed loop calls getValue() for the time before
+	// getKey() for the sound.
+	private ISound dsurround_current;
+
+	@Redirect(method = "updateAllSounds()V", at = @At(value = "INVOKE",
+			target = "Ljava/util/Map$Entry;getValue()Ljava/lang/Object;", ordinal = 0))
+	private Object capturePlayingSound(final Map.Entry<?, ?> entry) {
+		final Object sound = entry.getValue();
+		this.dsurround_current = (ISound) sound;
+		return sound;
+	}
+
+	@Redirect(method = "updateAllSounds()V", at = @At(value = "INVOKE",
+			target = "Ljava/util/Map$Entry;getKey()Ljava/lang/Object;", ordinal = 1))
+	private Object captureDelayedSound(final Map.Entry<?, ?> entry) {
+		final Object sound = entry.getKey();
+		this.dsurround_current = (ISound) sound;
+		return sound;
+	}
+
+	// First remove() drops a finished sound from the playing list. A repeating
+	// sound has already been placed in the delayed list at this point.
+	@Inject(method = "updateAllSounds()V", at = @At(value = "INVOKE", target = "Ljava/util/Iterator;remove()V",
+			ordinal = 0, shift = At.Shift.AFTER))
+	private void soundFinished(final CallbackInfo ci) {
+		SoundEngine.instance().onSoundFinished(this.dsurround_current);
+	}
+
+	// Second remove() drops a sound from the delayed list after it was sent to
+	// playSound().
+	@Inject(method = "updateAllSounds()V", at = @At(value = "INVOKE", target = "Ljava/util/Iterator;remove()V",
+			ordinal = 1, shift = At.Shift.AFTER))
+	private void delayedSoundReleased(final CallbackInfo ci) {
+		SoundEngine.instance().onDelayedSoundReleased(this.dsurround_current);
+	}
+
+	@Inject(method = "setVolume(Lnet/minecraft/util/SoundCategory;F)V", at = @At("HEAD"))
+	private void setVolume(final SoundCategory category, final float volume, final CallbackInfo ci) {
+		SoundEngine.onCategoryVolume(category, volume);
+	}
+
+	@Inject(method = "stopAllSounds()V", at = @At("HEAD"))
+	private void stopAllSounds(final CallbackInfo ci) {
+		SoundEngine.instance().onStopAllSounds();
+	}
+
+	// Runs after the stopAllSounds() made during the unload, and also covers a
+	// reload of the sound system.
+	@Inject(method = "unloadSoundSystem()V", at = @At("RETURN"))
+	private void unloadSoundSystem(final CallbackInfo ci) {
+		SoundEngine.instance().onSoundSystemUnloaded();
+	}
+
 	@Inject(method = "getClampedVolume(Lnet/minecraft/client/audio/ISound;)F", at = @At("HEAD"), cancellable = true)
 	private void getClampedVolume(ISound sound, CallbackInfoReturnable<Float> ci) {
 		final GuiScreen current = Minecraft.getMinecraft().currentScreen;
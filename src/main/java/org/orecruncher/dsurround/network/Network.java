@@ -208,11 +208,15 @@ public final class Network {
 		}
 	}
 
-	public static void sendToEntityViewers(@Nonnull final Entity entity, @Nonnull final IMessage msg) {
+	@Nonnull
+	public static List<EntityPlayerMP> getEntityViewers(@Nonnull final Entity entity) {
 		final Set<? extends EntityPlayer> players = ((WorldServer) entity.getEntityWorld()).getEntityTracker()
 				.getTrackingPlayers(entity);
-		final List<EntityPlayerMP> list = generateStream(players, null);
-		sendToList(list, msg);
+		return generateStream(players, null);
+	}
+
+	public static void sendToEntityViewers(@Nonnull final Entity entity, @Nonnull final IMessage msg) {
+		sendToList(getEntityViewers(entity), msg);
 	}
 
 	public static void sendToDimension(final int dimensionId, @Nonnull final IMessage msg) {
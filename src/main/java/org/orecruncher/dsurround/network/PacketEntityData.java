@@ -24,6 +24,9 @@
 
 package org.orecruncher.dsurround.network;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -41,34 +44,54 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 
+/**
+ * Carries the attack/flee state of one or more entities. Updates for a player
+ * are gathered over a server tick and sent together.
+ */
 public class PacketEntityData implements IMessage {
 
-	private int entityId;
-	private boolean isAttacking;
-	private boolean isFleeing;
+	private static final int ATTACKING = 1;
+	private static final int FLEEING = 2;
+
+	private int[] entityIds;
+	private byte[] flags;
 
 	public PacketEntityData() {
 		// Needed for client side creation
 	}
 
 	public PacketEntityData(@Nonnull final IEntityData data) {
-		this.entityId = data.getEntityId();
-		this.isAttacking = data.isAttacking();
-		this.isFleeing = data.isFleeing();
+		this(Collections.singletonList(data));
+	}
+
+	public PacketEntityData(@Nonnull final Collection<? extends IEntityData> data) {
+		this.entityIds = new int[data.size()];
+		this.flags = new byte[data.size()];
+		int i = 0;
+		for (final IEntityData d : data) {
+			this.entityIds[i] = d.getEntityId();
+			this.flags[i++] = (byte) ((d.isAttacking() ? ATTACKING : 0) | (d.isFleeing() ? FLEEING : 0));
+		}
 	}
 
 	@Override
 	public void fromBytes(@Nonnull final ByteBuf buf) {
-		this.entityId = buf.readInt();
-		this.isAttacking = buf.readBoolean();
-		this.isFleeing = buf.readBoolean();
+		final int count = buf.readShort();
+		this.entityIds = new int[count];
+		this.flags = new byte[count];
+		for (int i = 0; i < count; i++) {
+			this.entityIds[i] = buf.readInt();
+			this.flags[i] = buf.readByte();
+		}
 	}
 
 	@Override
 	public void toBytes(@Nonnull final ByteBuf buf) {
-		buf.writeInt(this.entityId);
-		buf.writeBoolean(this.isAttacking);
-		buf.writeBoolean(this.isFleeing);
+		buf.writeShort(this.entityIds.length);
+		for (int i = 0; i < this.entityIds.length; i++) {
+			buf.writeInt(this.entityIds[i]);
+			buf.writeByte(this.flags[i]);
+		}
 	}
 
 	public static class PacketHandler implements IMessageHandler<PacketEntityData, IMessage> {
@@ -79,13 +102,15 @@ public class PacketEntityData implements IMessage {
 				ModBase.proxy().getThreadListener(ctx).addScheduledTask(() -> {
 					final World world = EnvironState.getWorld();
 					if (world != null) {
-						final Entity entity = WorldUtils.locateEntity(world, message.entityId);
-						if (entity != null) {
-							final IEntityDataSettable data = (IEntityDataSettable) CapabilityEntityData
-									.getCapability(entity);
-							if (data != null) {
-								data.setAttacking(message.isAttacking);
-								data.setFleeing(message.isFleeing);
+						for (int i = 0; i < message.entityIds.length; i++) {
+							final Entity entity = WorldUtils.locateEntity(world, message.entityIds[i]);
+							if (entity != null) {
+								final IEntityDataSettable data = (IEntityDataSettable) CapabilityEntityData
+										.getCapability(entity);
+								if (data != null) {
+									data.setAttacking((message.flags[i] & ATTACKING) != 0);
+									data.setFleeing((message.flags[i] & FLEEING) != 0);
+								}
 							}
 						}
 					}
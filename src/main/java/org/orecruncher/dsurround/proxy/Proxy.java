@@ -30,6 +30,7 @@ import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.ModInfo;
 import org.orecruncher.dsurround.capabilities.CapabilityDimensionInfo;
 import org.orecruncher.dsurround.capabilities.CapabilityEntityData;
+import org.orecruncher.dsurround.capabilities.entitydata.EntityDataSync;
 import org.orecruncher.dsurround.commands.CommandDS;
 import org.orecruncher.dsurround.lib.compat.ModEnvironment;
 import org.orecruncher.dsurround.network.Network;
@@ -105,6 +106,7 @@ public class Proxy implements IProxy {
 
 	public void serverStopped(@Nonnull final FMLServerStoppedEvent event) {
 		ServiceManager.deinitialize();
+		EntityDataSync.clear();
 	}
 
 	public IThreadListener getThreadListener(@Nonnull final MessageContext context) {
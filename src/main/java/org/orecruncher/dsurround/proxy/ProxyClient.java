@@ -36,6 +36,7 @@ import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.capabilities.CapabilityEntityFXData;
 import org.orecruncher.dsurround.capabilities.CapabilitySeasonInfo;
 import org.orecruncher.dsurround.capabilities.CapabilitySpeechData;
+import org.orecruncher.dsurround.client.fx.LightCache;
 import org.orecruncher.dsurround.client.fx.ParticleCollections;
 import org.orecruncher.dsurround.client.fx.particle.ParticleDripOverride;
 import org.orecruncher.dsurround.client.gui.HumDinger;
@@ -45,6 +46,7 @@ import org.orecruncher.dsurround.client.hud.InspectionHUD;
 import org.orecruncher.dsurround.client.keyboard.KeyHandler;
 import org.orecruncher.dsurround.client.renderer.AnimaniaBadge;
 import org.orecruncher.dsurround.client.renderer.weather.RenderWeather;
+import org.orecruncher.dsurround.client.renderer.weather.WeatherColumnCache;
 import org.orecruncher.dsurround.client.sound.BackgroundMute;
 import org.orecruncher.dsurround.client.sound.SoundEngine;
 import org.orecruncher.dsurround.client.weather.Weather;
@@ -98,6 +100,8 @@ public class ProxyClient extends Proxy implements IProxy, ISelectiveResourceRelo
 		register(Weather.class);
 		register(WorldEventDetector.class);
 		register(ParticleCollections.class);
+		register(LightCache.class);
+		register(WeatherColumnCache.class);
 	}
 
 	@Override
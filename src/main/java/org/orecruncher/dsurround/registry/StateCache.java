@@ -0,0 +1,197 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.registry;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.dsurround.ModBase;
+import org.orecruncher.dsurround.ModOptions;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * On disk cache of how the block states of each block resolved against a
+ * registry. The result for a state is stored as an int the registry knows how
+ * to turn back into its data, usually the ordinal of an entry created while
+ * processing the configuration.
+ *
+ * The cache is keyed on the mod list, the block registry order, and the
+ * configuration sources. If any of these change the cache is discarded and
+ * rebuilt as the registry resolves the states.
+ */
+@SideOnly(Side.CLIENT)
+public final class StateCache {
+
+	private static final int VERSION = 1;
+	private static final String CACHE_DIRECTORY = "cache";
+
+	private final String name;
+	private final long key;
+	private final int entryCount;
+	private final Object2ObjectOpenHashMap<String, int[]> data = new Object2ObjectOpenHashMap<>();
+	private boolean dirty;
+
+	private StateCache(@Nonnull final String name, final long key, final int entryCount) {
+		this.name = name;
+		this.key = key;
+		this.entryCount = entryCount;
+	}
+
+	/**
+	 * Gets the cached results for the states of a block. Returns null if the block
+	 * is not in the cache, or if the number of states does not match.
+	 */
+	@Nullable
+	public int[] get(@Nonnull final Block block, final int stateCount) {
+		final ResourceLocation rl = block.getRegistryName();
+		if (rl == null)
+			return null;
+		final int[] result = this.data.get(rl.toString());
+		return result != null && result.length == stateCount ? result : null;
+	}
+
+	public void put(@Nonnull final Block block, @Nonnull final int[] results) {
+		final ResourceLocation rl = block.getRegistryName();
+		if (rl != null) {
+			this.data.put(rl.toString(), results);
+			this.dirty = true;
+		}
+	}
+
+	/**
+	 * Writes the cache to disk if anything was added since it was loaded.
+	 */
+	public void save() {
+		if (!this.dirty || !ModOptions.general.enableStateCache)
+			return;
+
+		final File file = getFile(this.name);
+		file.getParentFile().mkdirs();
+		try (final DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(VERSION);
+			out.writeLong(this.key);
+			out.writeInt(this.entryCount);
+			out.writeInt(this.data.size());
+			for (final Object2ObjectMap.Entry<String, int[]> e : this.data.object2ObjectEntrySet()) {
+				out.writeUTF(e.getKey());
+				final int[] results = e.getValue();
+				out.writeInt(results.length);
+				for (final int r : results)
+					out.writeInt(r);
+			}
+			this.dirty = false;
+		} catch (@Nonnull final Throwable t) {
+			ModBase.log().error(String.format("Unable to write state cache [%s]", this.name), t);
+			file.delete();
+		}
+	}
+
+	/**
+	 * Loads the named cache from disk. If the file does not exist, cannot be read,
+	 * or was written for a different key or entry count an empty cache is
+	 * returned.
+	 *
+	 * @param name       Name of the cache file
+	 * @param entryCount Number of entries in the registry the results refer to
+	 */
+	@Nonnull
+	public static StateCache load(@Nonnull final String name, final int entryCount) {
+		final long key = computeKey();
+		final StateCache cache = new StateCache(name, key, entryCount);
+		if (!ModOptions.general.enableStateCache)
+			return cache;
+
+		final File file = getFile(name);
+		if (!file.exists())
+			return cache;
+
+		try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION || in.readLong() != key || in.readInt() != entryCount)
+				return cache;
+			final int blocks = in.readInt();
+			for (int i = 0; i < blocks; i++) {
+				final String blockName = in.readUTF();
+				final int[] results = new int[in.readInt()];
+				for (int j = 0; j < results.length; j++) {
+					final int r = in.readInt();
+					if (r >= entryCount) {
+						// Shouldn't happen with a matching key but the file could
+						// have been tampered with.
+						cache.data.clear();
+						return cache;
+					}
+					results[j] = r;
+				}
+				cache.data.put(blockName, results);
+			}
+		} catch (@Nonnull final Throwable t) {
+			ModBase.log().warn("Unable to read state cache [%s]: %s", name, t.getMessage());
+			cache.data.clear();
+		}
+		return cache;
+	}
+
+	@Nonnull
+	private static File getFile(@Nonnull final String name) {
+		return new File(new File(ModBase.dataDirectory(), CACHE_DIRECTORY), name + ".bin");
+	}
+
+	private static long computeKey() {
+		final Hasher hasher = Hashing.murmur3_128().newHasher();
+		hasher.putInt(VERSION);
+		for (final ModContainer mod : Loader.instance().getActiveModList())
+			hasher.putString(mod.getModId(), StandardCharsets.UTF_8).putString(mod.getVersion(),
+					StandardCharsets.UTF_8);
+		// The registries process blocks in registry order so the order is part of
+		// what the cached results depend on.
+		for (final Block block : ForgeRegistries.BLOCKS)
+			hasher.putString(String.valueOf(block.getRegistryName()), StandardCharsets.UTF_8)
+					.putInt(block.getBlockState().getValidStates().size());
+		hasher.putLong(RegistryManager.DATA.get().getSignature());
+		return hasher.hash().asLong();
+	}
+}
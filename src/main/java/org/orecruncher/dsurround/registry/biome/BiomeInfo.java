@@ -37,13 +37,13 @@ import org.apache.commons.lang3.StringUtils;
 import org.orecruncher.dsurround.capabilities.season.TemperatureRating;
 import org.orecruncher.dsurround.client.handlers.BiomeSoundEffectsHandler;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
+import org.orecruncher.dsurround.client.sound.SoundTable;
 import org.orecruncher.dsurround.registry.RegistryManager;
 import org.orecruncher.dsurround.registry.config.BiomeConfig;
 import org.orecruncher.dsurround.registry.config.SoundConfig;
 import org.orecruncher.dsurround.registry.config.SoundType;
 import org.orecruncher.lib.Color;
 import org.orecruncher.lib.MyUtils;
-import org.orecruncher.lib.WeightTable;
 import org.orecruncher.lib.collections.ObjectArray;
 
 import com.google.common.collect.Lists;
@@ -80,6 +80,7 @@ public final class BiomeInfo implements Comparable<BiomeInfo> {
 
 	protected SoundEffect[] sounds = NO_SOUNDS;
 	protected SoundEffect[] spotSounds = NO_SOUNDS;
+	protected SoundTable spotSoundTable;
 	protected int spotSoundChance = DEFAULT_SPOT_CHANCE;
 
 	protected final List<String> comments = Lists.newArrayList();
@@ -241,6 +242,7 @@ public final class BiomeInfo implements Comparable<BiomeInfo> {
 
 	void addSpotSound(final SoundEffect sound) {
 		this.spotSounds = MyUtils.append(this.spotSounds, sound);
+		this.spotSoundTable = null;
 	}
 
 	public boolean isFake() {
@@ -288,14 +290,17 @@ public final class BiomeInfo implements Comparable<BiomeInfo> {
 
 	@Nullable
 	public SoundEffect getSpotSound(@Nonnull final Random random) {
-		return this.spotSounds != NO_SOUNDS && random.nextInt(this.spotSoundChance) == 0
-				? new WeightTable<>(this.spotSounds).next()
-				: null;
+		if (this.spotSounds == NO_SOUNDS || random.nextInt(this.spotSoundChance) != 0)
+			return null;
+		if (this.spotSoundTable == null)
+			this.spotSoundTable = new SoundTable(this.spotSounds);
+		return this.spotSoundTable.next(random);
 	}
 
 	void resetSounds() {
 		this.sounds = NO_SOUNDS;
 		this.spotSounds = NO_SOUNDS;
+		this.spotSoundTable = null;
 		this.spotSoundChance = DEFAULT_SPOT_CHANCE;
 	}
 
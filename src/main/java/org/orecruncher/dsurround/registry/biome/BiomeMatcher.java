@@ -50,8 +50,6 @@ public abstract class BiomeMatcher {
 	public abstract boolean match(@Nonnull final BiomeInfo info);
 
 	public static BiomeMatcher getMatcher(@Nonnull final BiomeConfig cfg) {
-		if (cfg.conditions == null)
-			cfg.conditions = "";
 		return new ConditionsImpl(cfg);
 	}
 
@@ -96,7 +94,7 @@ public abstract class BiomeMatcher {
 		protected final Expression exp;
 
 		public ConditionsImpl(@Nonnull final BiomeConfig config) {
-			this.exp = new Expression(config.conditions);
+			this.exp = new Expression(config.conditions != null ? config.conditions : "");
 
 			// Biome name!
 			this.exp.addVariable(new Variant("biome.name") {
@@ -31,8 +31,8 @@ import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.client.fx.BlockEffect;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
+import org.orecruncher.dsurround.client.sound.SoundTable;
 import org.orecruncher.lib.MyUtils;
-import org.orecruncher.lib.WeightTable;
 
 import com.google.common.base.Joiner;
 
@@ -44,6 +44,7 @@ public class BlockStateProfile extends BlockStateData {
 
 	protected int chance = 100;
 	protected SoundEffect[] sounds = NO_SOUNDS;
+	protected SoundTable soundTable;
 	protected BlockEffect[] effects = NO_EFFECTS;
 	protected BlockEffect[] alwaysOn = NO_EFFECTS;
 
@@ -63,6 +64,7 @@ public class BlockStateProfile extends BlockStateData {
 	@Nonnull
 	public BlockStateProfile addSound(@Nonnull final SoundEffect sound) {
 		this.sounds = MyUtils.append(this.sounds, sound);
+		this.soundTable = null;
 		return this;
 	}
 
@@ -70,6 +72,7 @@ public class BlockStateProfile extends BlockStateData {
 	@Nonnull
 	public BlockStateProfile clearSounds() {
 		this.sounds = NO_SOUNDS;
+		this.soundTable = null;
 		return this;
 	}
 
@@ -112,8 +115,11 @@ public class BlockStateProfile extends BlockStateData {
 	@Override
 	@Nullable
 	public SoundEffect getSoundToPlay(@Nonnull final Random random) {
-		return this.sounds != NO_SOUNDS && random.nextInt(getChance()) == 0 ? new WeightTable<>(this.sounds).next()
-				: null;
+		if (this.sounds == NO_SOUNDS || random.nextInt(getChance()) != 0)
+			return null;
+		if (this.soundTable == null)
+			this.soundTable = new SoundTable(this.sounds);
+		return this.soundTable.next(random);
 	}
 
 	@Override
@@ -24,6 +24,8 @@
 
 package org.orecruncher.dsurround.registry.blockstate;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -38,6 +40,7 @@ import org.orecruncher.dsurround.client.fx.BlockEffectType;
 import org.orecruncher.dsurround.client.sound.SoundEffect;
 import org.orecruncher.dsurround.registry.Registry;
 import org.orecruncher.dsurround.registry.RegistryManager;
+import org.orecruncher.dsurround.registry.StateCache;
 import org.orecruncher.dsurround.registry.config.BlockConfig;
 import org.orecruncher.dsurround.registry.config.EffectConfig;
 import org.orecruncher.dsurround.registry.config.ModConfiguration;
@@ -45,6 +48,8 @@ import org.orecruncher.dsurround.registry.config.SoundConfig;
 import org.orecruncher.dsurround.registry.sound.SoundRegistry;
 
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.ResourceLocation;
@@ -56,7 +61,13 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 @SideOnly(Side.CLIENT)
 public final class BlockStateRegistry extends Registry {
 
+	private static final String CACHE_NAME = "blockstates";
+
 	private Map<BlockStateMatcher, BlockStateProfile> registry;
+	// Profiles in the order they were created. The ordinal is what is stored in
+	// the state cache.
+	private List<BlockStateProfile> profiles;
+	private Reference2IntOpenHashMap<BlockStateData> ordinals;
 	private int blockStates;
 
 	public BlockStateRegistry() {
@@ -66,6 +77,9 @@ public final class BlockStateRegistry extends Registry {
 	@Override
 	protected void preInit() {
 		this.registry = new Object2ObjectOpenHashMap<>();
+		this.profiles = new ArrayList<>();
+		this.ordinals = new Reference2IntOpenHashMap<>();
+		this.ordinals.defaultReturnValue(-1);
 
 		// Wipe out any cached data
 		getBlockStates().forEach(state -> BlockStateUtil.setStateData(state, null));
@@ -79,7 +93,34 @@ public final class BlockStateRegistry extends Registry {
 
 	@Override
 	protected void postInit() {
-		this.blockStates = (int) getBlockStates().map(s -> get(s)).count();
+		// Resolve the profile of every block state. If the state cache has the
+		// results from a previous run with the same mods and configuration they
+		// are used rather than matching each state against the registry.
+		final StateCache cache = StateCache.load(CACHE_NAME, this.profiles.size());
+		int count = 0;
+		for (final Block block : ForgeRegistries.BLOCKS) {
+			final List<IBlockState> states = block.getBlockState().getValidStates();
+			for (int i = 0; i < states.size(); i++)
+				BlockStateUtil.setStateIndex(states.get(i), count + i);
+
+			final int[] cached = cache.get(block, states.size());
+			if (cached != null) {
+				for (int i = 0; i < cached.length; i++) {
+					final IBlockState state = states.get(i);
+					if (BlockStateUtil.getStateDataRaw(state) == null)
+						BlockStateUtil.setStateData(state,
+								cached[i] < 0 ? BlockStateData.DEFAULT : this.profiles.get(cached[i]));
+				}
+			} else {
+				final int[] results = new int[states.size()];
+				for (int i = 0; i < results.length; i++)
+					results[i] = this.ordinals.getInt(get(states.get(i)));
+				cache.put(block, results);
+			}
+			count += states.size();
+		}
+		cache.save();
+		this.blockStates = count;
 	}
 
 	@Override
@@ -87,6 +128,16 @@ public final class BlockStateRegistry extends Registry {
 		ModBase.log().info("[%s] %d block states processed, %d registry entries", getName(), this.blockStates,
 				this.registry.size());
 		this.registry = null;
+		this.profiles = null;
+		this.ordinals = null;
+	}
+
+	/**
+	 * Number of block states that were indexed when the registry loaded. The
+	 * state indexes range from 0 to this value.
+	 */
+	public int getBlockStateCount() {
+		return this.blockStates;
 	}
 
 	private Stream<IBlockState> getBlockStates() {
@@ -124,6 +175,8 @@ public final class BlockStateRegistry extends Registry {
 		if (profile == null) {
 			profile = new BlockStateProfile();
 			this.registry.put(info, profile);
+			this.ordinals.put(profile, this.profiles.size());
+			this.profiles.add(profile);
 		}
 
 		return profile;
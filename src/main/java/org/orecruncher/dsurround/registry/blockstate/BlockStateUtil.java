@@ -24,14 +24,18 @@
 
 package org.orecruncher.dsurround.registry.blockstate;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.registry.IDataAccessor;
+import org.orecruncher.dsurround.registry.IStateIndex;
 import org.orecruncher.dsurround.registry.RegistryManager;
 
 import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.IThreadListener;
 
 /**
  * Helper class used to access and manipulate the reference to our data we have
@@ -40,6 +44,8 @@ import net.minecraft.block.state.IBlockState;
  */
 public final class BlockStateUtil {
 
+	private static final AtomicBoolean reloadQueued = new AtomicBoolean();
+
 	@SuppressWarnings("unchecked")
 	@Nullable
 	public static <T extends BlockStateData> T getStateData(@Nonnull final IBlockState state) {
@@ -58,6 +64,29 @@ public final class BlockStateUtil {
 		return result;
 	}
 
+	/**
+	 * Variant of getStateData() that is safe to call from worker threads. If the
+	 * state does not have data BlockStateData.DEFAULT is returned and the
+	 * registry reload is queued on the provided thread rather than performed in
+	 * place.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nonnull
+	public static <T extends BlockStateData> T getStateData(@Nonnull final IBlockState state,
+			@Nonnull final IThreadListener reloadThread) {
+		final T result = getStateDataRaw(state);
+		if (result != null)
+			return result;
+
+		if (reloadQueued.compareAndSet(false, true)) {
+			reloadThread.addScheduledTask(() -> {
+				reloadQueued.set(false);
+				RegistryManager.BLOCK.reload();
+			});
+		}
+		return (T) BlockStateData.DEFAULT;
+	}
+
 	@SuppressWarnings("unchecked")
 	static <T extends BlockStateData> T getStateDataRaw(@Nonnull final IBlockState state) {
 		return ((IDataAccessor<T>) state).getData();
@@ -68,4 +97,17 @@ public final class BlockStateUtil {
 			@Nonnull final T data) {
 		((IDataAccessor<T>) state).setData(data);
 	}
+
+	/**
+	 * Dense index of the state assigned by the BlockStateRegistry. Returns -1 if
+	 * the state has not been indexed.
+	 */
+	public static int getStateIndex(@Nonnull final IBlockState state) {
+		return state instanceof IStateIndex ? ((IStateIndex) state).getStateIndex() : -1;
+	}
+
+	static void setStateIndex(@Nonnull final IBlockState state, final int index) {
+		if (state instanceof IStateIndex)
+			((IStateIndex) state).setStateIndex(index);
+	}
 }
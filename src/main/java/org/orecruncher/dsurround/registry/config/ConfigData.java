@@ -21,27 +21,26 @@
  * THE SOFTWARE.
  */
 
+
 package org.orecruncher.dsurround.registry.config;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.ModInfo;
@@ -50,31 +49,41 @@ import org.orecruncher.dsurround.registry.config.Profiles.ProfileScript;
 import org.orecruncher.dsurround.registry.config.packs.IMyResourcePack;
 import org.orecruncher.dsurround.registry.config.packs.ResourcePacks;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.MalformedJsonException;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 
-import it.unimi.dsi.fastutil.io.FastByteArrayInputStream;
-import it.unimi.dsi.fastutil.io.FastByteArrayOutputStream;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fml.common.Loader;
 import net.minecraftforge.fml.common.ModContainer;
 
 /**
- * Helper class that loads up the various configuration elements from JSON and
- * stores them in a compressed memory memory blob that can be iterated in
- * memory. Purpose is to retain the configuration data in a compact form to
- * allow quick resets of the Registries due to external events (like biome
- * changes on world load).
+ * Helper class that loads up the various configuration elements from JSON.
+ * Each source is parsed exactly once and the resulting ModConfiguration list is
+ * shared by all the registries. Purpose is to allow quick resets of the
+ * Registries due to external events (like biome changes on world load) without
+ * going back to the Json.
+ *
+ * The ModConfiguration objects are treated as read-only once loaded. Registries
+ * must not modify them.
  */
 public final class ConfigData implements Iterable<ModConfiguration> {
 
-	// Holder of the compressed bytes containing our configuration
-	private final byte[] crunchyBits;
+	private final List<ModConfiguration> configs;
+	private final long signature;
 
-	private ConfigData(@Nonnull final byte[] theBits) {
-		this.crunchyBits = theBits;
+	private ConfigData(@Nonnull final List<ModConfiguration> configs, final long signature) {
+		this.configs = configs;
+		this.signature = signature;
 	}
 
 	/**
@@ -84,99 +93,98 @@ public final class ConfigData implements Iterable<ModConfiguration> {
 	 * @return
 	 */
 	public Stream<ModConfiguration> stream() {
-		return StreamSupport.stream(spliterator(), false);
+		return this.configs.stream();
 	}
 
-	// Injects a string into the array list. Used to put a marker that conveys
-	// information about
-	// the following Json object - which should be a ModConfiguration thing.
-	private static void injectString(@Nonnull final String txt, @Nonnull final OutputStreamWriter out) {
-		try {
-			out.write('"');
-			out.write(txt);
-			out.write("\",");
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Really??", t);
-		}
+	public int size() {
+		return this.configs.size();
 	}
 
-	// Does a simple comma append to the output stream.
-	protected static void appendComma(@Nonnull final OutputStreamWriter out) {
-		try {
-			out.write(',');
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Really??", t);
+	/**
+	 * Hash of the names and content of the sources the configuration was loaded
+	 * from. If the signature is the same the configuration is the same.
+	 */
+	public long getSignature() {
+		return this.signature;
+	}
+
+	// The raw Json text of a configuration source along with a description of
+	// where it came from.
+	private static final class Source {
+		public final String name;
+		public final String text;
+
+		public Source(@Nonnull final String name, @Nonnull final String text) {
+			this.name = name;
+			this.text = text;
 		}
 	}
 
-	// Reads strings from the buffered reader, trims them, and outputs to the output
-	// writer if the length of the trimmed string is > 0. Used to compress a lot of
-	// the whitespace that can be found in a hand edited Json file.
-	protected static void copy(@Nonnull final BufferedReader reader, @Nonnull final OutputStreamWriter out) {
-		String line = null;
-		try {
-			while ((line = reader.readLine()) != null) {
-				final String s = line.trim();
-				if (!StringUtils.isEmpty(s))
-					out.write(s);
+	// Gson adapter that interns the strings it reads. The configs repeat the
+	// same block names, sound names, and conditions over and over so there is
+	// no sense in keeping a copy of each.
+	private static final class InterningAdapter extends TypeAdapter<String> {
+
+		private final Interner<String> interner = Interners.newStrongInterner();
+
+		@Override
+		public void write(@Nonnull final JsonWriter out, @Nullable final String value) throws IOException {
+			out.value(value);
+		}
+
+		@Override
+		@Nullable
+		public String read(@Nonnull final JsonReader in) throws IOException {
+			final JsonToken token = in.peek();
+			if (token == JsonToken.NULL) {
+				in.nextNull();
+				return null;
 			}
-		} catch (@Nonnull final IOException e) {
-			ModBase.log().error("Huh?", e);
+			if (token == JsonToken.BOOLEAN)
+				return Boolean.toString(in.nextBoolean());
+			return this.interner.intern(in.nextString());
 		}
 	}
 
-	// Copies the data from the input stream to the output stream. The text is
-	// injected before the write, and a comma is prepended if the flag
-	// indicates to do so.
-	protected static boolean copy(@Nonnull final InputStreamReader in, @Nonnull final OutputStreamWriter out,
-			@Nonnull final String text, final boolean comma) {
+	// Reads the text from the input stream and adds it to the source list. The
+	// text is parsed later.
+	private static void read(@Nonnull final List<Source> sources, @Nonnull final InputStream stream,
+			@Nonnull final String text) {
 		try {
-			try (final BufferedReader reader = new BufferedReader(in)) {
-				// This bit o crap will force the validation of the object
-				// in the stream.
-				try {
-					reader.mark(128 * 1024);
-					@SuppressWarnings({ "unused", "resource" })
-					final JsonReader r = new JsonReader(reader);
-					@SuppressWarnings("unused")
-					final ModConfiguration ref = new Gson().fromJson(reader, ModConfiguration.class);
-				} finally {
-					reader.reset();
-				}
-
-				// Where the rubber meets the road
-				if (comma)
-					appendComma(out);
-				injectString(text, out);
-				copy(reader, out);
-				ModBase.log().debug("Loaded %s", text);
-				return true;
-			}
-		} catch (@Nonnull final JsonSyntaxException | MalformedJsonException vf) {
-			ModBase.log().warn("Json validation failed for %s: %s", text, vf.getMessage());
+			sources.add(new Source(text, IOUtils.toString(stream, StandardCharsets.UTF_8)));
 		} catch (@Nonnull final Throwable t) {
 			ModBase.log().error(text, t);
 		}
-		return comma;
 	}
 
-	// Copies the specified resource from the given pack to the output location.
-	// Essentially it will be reading config Json information from resource
-	// packs and jars.
-	protected static boolean copy(@Nonnull final IMyResourcePack p, @Nonnull ResourceLocation rl,
-			@Nonnull final OutputStreamWriter output, @Nullable String text, final boolean comma) {
+	// Reads the specified resource from the given pack. Essentially it will be
+	// reading config Json information from resource packs and jars.
+	private static void read(@Nonnull final List<Source> sources, @Nonnull final IMyResourcePack p,
+			@Nonnull final ResourceLocation rl) {
+		final String text = "[" + rl.toString() + "] from [" + p.getModName() + "]";
 		try (final InputStream is = p.getInputStream(rl)) {
-			if (is != null) {
-				try (final InputStreamReader stream = new InputStreamReader(is)) {
-					return copy(stream, output, text, comma);
-				} catch (@Nonnull final Throwable t) {
-					ModBase.log().error(rl.toString(), t);
-				}
-			}
+			if (is != null)
+				read(sources, is, text);
 		} catch (@Nonnull final Throwable t) {
 			ModBase.log().error(rl.toString(), t);
 		}
-		return comma;
+	}
+
+	@Nullable
+	private static ModConfiguration parse(@Nonnull final Gson gson, @Nonnull final Source source) {
+		try {
+			final ModConfiguration mcf = gson.fromJson(source.text, ModConfiguration.class);
+			if (mcf != null) {
+				mcf.source = source.name;
+				ModBase.log().debug("Loaded %s", source.name);
+			}
+			return mcf;
+		} catch (@Nonnull final JsonParseException vf) {
+			ModBase.log().warn("Json validation failed for %s: %s", source.name, vf.getMessage());
+		} catch (@Nonnull final Throwable t) {
+			ModBase.log().error(source.name, t);
+		}
+		return null;
 	}
 
 	@Nonnull
@@ -187,118 +195,72 @@ public final class ConfigData implements Iterable<ModConfiguration> {
 
 	public static ConfigData load() {
 
-		final FastByteArrayOutputStream bits = new FastByteArrayOutputStream(16 * 1024);
-
-		try (final OutputStreamWriter output = new OutputStreamWriter(new GZIPOutputStream(bits))) {
-
-			// We are writing a Json array of objects so start with the open
-			output.write("[");
+		final List<Source> sources = new ArrayList<>();
 
-			boolean prependComma = false;
+		// Collect the locations where DS data is configured
+		final List<IMyResourcePack> packs = ResourcePacks.findResourcePacks();
+		final List<ModContainer> activeMods = Loader.instance().getActiveModList();
 
-			// Collect the locations where DS data is configured
-			final List<IMyResourcePack> packs = ResourcePacks.findResourcePacks();
-			final List<ModContainer> activeMods = Loader.instance().getActiveModList();
-
-			// Process the mod config from each of our packs. This includes the regular
-			// files from the dsurround jar.
-			for (final ModContainer mod : activeMods) {
-				final ResourceLocation rl = new ResourceLocation(ModInfo.MOD_ID,
-						"data/" + mod.getModId().toLowerCase() + ".json");
-				for (final IMyResourcePack p : packs) {
-					if (p.resourceExists(rl))
-						prependComma = copy(p, rl, output, "[" + rl.toString() + "] from [" + p.getModName() + "]",
-								prependComma);
-				}
-			}
-
-			// Get config data from our JAR.
-			final ResourceLocation rl = ResourcePacks.CONFIGURE_RESOURCE;
+		// Process the mod config from each of our packs. This includes the regular
+		// files from the dsurround jar.
+		for (final ModContainer mod : activeMods) {
+			final ResourceLocation rl = new ResourceLocation(ModInfo.MOD_ID,
+					"data/" + mod.getModId().toLowerCase() + ".json");
 			for (final IMyResourcePack p : packs) {
 				if (p.resourceExists(rl))
-					prependComma = copy(p, rl, output, "[" + rl.toString() + "] from [" + p.getModName() + "]",
-							prependComma);
+					read(sources, p, rl);
 			}
+		}
 
-			// Built in toggle profiles for turning feature sets on/off
-			final List<ProfileScript> resources = Profiles.getProfileStreams();
-			for (final ProfileScript script : resources) {
-				try (final InputStreamReader reader = new InputStreamReader(script.stream)) {
-					prependComma = copy(reader, output, script.packName, prependComma);
-				} catch (@Nonnull final Throwable t) {
-					ModBase.log().error("Error reading profile script", t);
-				}
+		// Get config data from our JAR.
+		final ResourceLocation rl = ResourcePacks.CONFIGURE_RESOURCE;
+		for (final IMyResourcePack p : packs) {
+			if (p.resourceExists(rl))
+				read(sources, p, rl);
+		}
+
+		// Built in toggle profiles for turning feature sets on/off
+		final List<ProfileScript> resources = Profiles.getProfileStreams();
+		for (final ProfileScript script : resources) {
+			try (final InputStream stream = script.stream) {
+				read(sources, stream, script.packName);
+			} catch (@Nonnull final Throwable t) {
+				ModBase.log().error("Error reading profile script", t);
 			}
+		}
 
-			// Load scripts specified in the configuration file from disk. Usually supplied
-			// by players or pack makers.
-			for (final String cfg : ModOptions.general.externalScriptFiles) {
-				final File file = getFileReference(cfg);
-				if (file.exists()) {
-					try (final InputStream stream = new FileInputStream(file)) {
-						try (final InputStreamReader input = new InputStreamReader(stream)) {
-							prependComma = copy(input, output, cfg, prependComma);
-						} catch (final Throwable t) {
-							ModBase.log().error("Really??", t);
-						}
-					} catch (final Throwable t) {
-						ModBase.log().error("Really??", t);
-					}
+		// Load scripts specified in the configuration file from disk. Usually supplied
+		// by players or pack makers.
+		for (final String cfg : ModOptions.general.externalScriptFiles) {
+			final File file = getFileReference(cfg);
+			if (file.exists()) {
+				try (final InputStream stream = new FileInputStream(file)) {
+					read(sources, stream, cfg);
+				} catch (final Throwable t) {
+					ModBase.log().error("Really??", t);
 				}
 			}
-
-			// The tap - need to close out the json array and flush
-			// the stream to make sure.
-			output.write("]");
-			output.flush();
-
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Something went horribly wrong", t);
 		}
 
-		// dump(bits.toByteArray());
+		// Reading is done in order on this thread since the packs are not
+		// thread safe. The parsing is where the time goes, and the sources are
+		// independent of each other so they can be parsed in parallel. The
+		// stream is ordered so the result is in the same order as the sources.
+		final Gson gson = new GsonBuilder().registerTypeAdapter(String.class, new InterningAdapter()).create();
+		final List<ModConfiguration> configs = sources.parallelStream().map(s -> parse(gson, s))
+				.filter(Objects::nonNull).collect(Collectors.toList());
 
-		bits.trim();
-		return new ConfigData(bits.array);
+		final Hasher hasher = Hashing.murmur3_128().newHasher();
+		for (final Source source : sources)
+			hasher.putString(source.name, StandardCharsets.UTF_8).putString(source.text, StandardCharsets.UTF_8);
+
+		return new ConfigData(ImmutableList.copyOf(configs), hasher.hash().asLong());
 	}
 
 	@Override
 	@Nonnull
 	public Iterator<ModConfiguration> iterator() {
-		try {
-			return new MCFIterator(this.crunchyBits);
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Unable to create ModConfiguration iterator", t);
-			return new Iterator<ModConfiguration>() {
-				@Override
-				public boolean hasNext() {
-					return false;
-				}
-
-				@Override
-				public ModConfiguration next() {
-					throw new IllegalStateException("Huh?");
-				}
-			};
-		}
-	}
-
-	protected static void dump(@Nonnull final byte[] demBytes) {
-
-		try {
-			String line = null;
-
-			try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(
-					new GZIPInputStream(new FastByteArrayInputStream(demBytes)), StandardCharsets.UTF_8))) {
-				while ((line = bufferedReader.readLine()) != null) {
-					ModBase.log().info(line);
-				}
-			}
-
-		} catch (@Nonnull final Throwable t) {
-			ModBase.log().error("Error dumping bytes!", t);
-		}
-
+		return this.configs.iterator();
 	}
 
 }
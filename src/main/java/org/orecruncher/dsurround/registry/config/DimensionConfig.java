@@ -49,6 +49,27 @@ public class DimensionConfig {
 	@SerializedName("alwaysOutside")
 	public Boolean alwaysOutside = null;
 
+	/**
+	 * Creates a shallow copy of the entry. The loaded configuration is shared
+	 * between registries and reloads, so anything that needs to modify an entry
+	 * works on a copy.
+	 */
+	@Nonnull
+	public DimensionConfig copy() {
+		final DimensionConfig result = new DimensionConfig();
+		result.dimensionId = this.dimensionId;
+		result.name = this.name;
+		result.seaLevel = this.seaLevel;
+		result.skyHeight = this.skyHeight;
+		result.cloudHeight = this.cloudHeight;
+		result.hasHaze = this.hasHaze;
+		result.hasAurora = this.hasAurora;
+		result.hasWeather = this.hasWeather;
+		result.hasFog = this.hasFog;
+		result.alwaysOutside = this.alwaysOutside;
+		return result;
+	}
+
 	@Override
 	@Nonnull
 	public String toString() {
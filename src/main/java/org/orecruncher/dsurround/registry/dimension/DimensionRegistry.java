@@ -68,19 +68,26 @@ public final class DimensionRegistry extends Registry {
 		getData(world);
 	}
 
+	/**
+	 * Obtains the registry's entry matching the config entry, adding a copy of the
+	 * config entry if there isn't one. The loaded configuration is shared and
+	 * must not be modified, so merges are done on the copy.
+	 */
 	@Nonnull
 	private DimensionConfig getData(@Nonnull final DimensionConfig entry) {
 		final Optional<DimensionConfig> result = this.cache.stream().filter(e -> e.equals(entry)).findFirst();
 		if (result.isPresent())
 			return result.get();
-		this.cache.add(entry);
-		return entry;
+		final DimensionConfig data = entry.copy();
+		this.cache.add(data);
+		return data;
 	}
 
 	public void register(@Nonnull final DimensionConfig entry) {
 		if (entry.dimensionId != null || entry.name != null) {
+			final int size = this.cache.size();
 			final DimensionConfig data = getData(entry);
-			if (data == entry)
+			if (this.cache.size() != size)
 				return;
 			if (data.dimensionId == null)
 				data.dimensionId = entry.dimensionId;
@@ -59,6 +59,8 @@ public final class BlockAcousticMap {
 
 	protected final IAcousticResolver resolver;
 	protected final Map<Block, ObjectArray<BlockMapEntry>> data = new Reference2ObjectOpenHashMap<>();
+	// All entries in the order they were put
+	protected final ObjectArray<BlockMapEntry> ordered = new ObjectArray<>();
 
 	/**
 	 * CTOR for building a map that has no resolver and performs special lookups
@@ -75,36 +77,72 @@ public final class BlockAcousticMap {
 
 	@Nonnull
 	protected IAcoustic[] cacheMiss(@Nonnull final IBlockState state) {
+		final BlockMapEntry entry = findEntry(state);
+		return entry != null ? entry.acoustics : resolve(state);
+	}
+
+	@Nonnull
+	private IAcoustic[] resolve(@Nonnull final IBlockState state) {
 		IAcoustic[] result = null;
+		if (this.resolver != null)
+			result = this.resolver.resolve(state);
+		return MoreObjects.firstNonNull(result, AcousticRegistry.EMPTY);
+	}
+
+	@Nullable
+	private BlockMapEntry findEntry(@Nonnull final IBlockState state) {
+		BlockMapEntry result = null;
 		final ObjectArray<BlockMapEntry> entries = this.data.get(state.getBlock());
 		if (entries != null) {
 			final BlockStateMatcher matcher = BlockStateMatcher.create(state);
 			result = find(entries, matcher);
-			if (result != null)
-				return result;
-			if (matcher.hasSubtypes())
+			if (result == null && matcher.hasSubtypes())
 				result = find(entries, BlockStateMatcher.asGeneric(state));
-			if (result != null)
-				return result;
 		}
-		if (this.resolver != null)
-			result = this.resolver.resolve(state);
-		return MoreObjects.firstNonNull(result, AcousticRegistry.EMPTY);
+		return result;
 	}
 
 	@Nullable
-	private IAcoustic[] find(@Nonnull final ObjectArray<BlockMapEntry> entries,
+	private BlockMapEntry find(@Nonnull final ObjectArray<BlockMapEntry> entries,
 			@Nonnull final BlockStateMatcher matcher) {
 		// Search backwards. In general highly specified states are at
 		// the end of the array.
 		for (int i = entries.size() - 1; i >= 0; i--) {
 			final BlockMapEntry e = entries.get(i);
 			if (matcher.equals(e.matcher))
-				return e.acoustics;
+				return e;
 		}
 		return null;
 	}
 
+	/**
+	 * Number of entries that have been put into the map. The ordinals returned by
+	 * primeCache() are less than this.
+	 */
+	public int getEntryCount() {
+		return this.ordered.size();
+	}
+
+	/**
+	 * Resolves the acoustics for the state and places them in the cache. Returns
+	 * the ordinal of the entry that matched, or -1 if the state was handed to the
+	 * resolver.
+	 */
+	public int primeCache(@Nonnull final IBlockState state) {
+		final BlockMapEntry entry = findEntry(state);
+		this.cache.put(state, entry != null ? entry.acoustics : resolve(state));
+		return entry != null ? entry.ordinal : -1;
+	}
+
+	/**
+	 * Places the acoustics of the entry with the given ordinal in the cache for
+	 * the state. The ordinal would have been obtained from an earlier call to
+	 * primeCache(IBlockState) with the same entries.
+	 */
+	public void primeCache(@Nonnull final IBlockState state, final int ordinal) {
+		this.cache.put(state, ordinal >= 0 ? this.ordered.get(ordinal).acoustics : resolve(state));
+	}
+
 	/**
 	 * Obtain acoustic information for a block. If the block has variants (subtypes)
 	 * it will fall back to searching for a generic if a specific one is not found.
@@ -124,21 +162,27 @@ public final class BlockAcousticMap {
 		if (entry == null) {
 			this.data.put(info.getBlock(), entry = new ObjectArray<>(2));
 		}
-		entry.add(new BlockMapEntry(info, acoustics));
+		final BlockMapEntry e = new BlockMapEntry(info, acoustics, this.ordered.size());
+		entry.add(e);
+		this.ordered.add(e);
 	}
 
 	public void clear() {
 		this.data.clear();
 		this.cache.clear();
+		this.ordered.clear();
 	}
 
 	private static class BlockMapEntry {
 		public final BlockStateMatcher matcher;
 		public final IAcoustic[] acoustics;
+		public final int ordinal;
 
-		public BlockMapEntry(@Nonnull final BlockStateMatcher matcher, @Nonnull final IAcoustic[] acoustics) {
+		public BlockMapEntry(@Nonnull final BlockStateMatcher matcher, @Nonnull final IAcoustic[] acoustics,
+				final int ordinal) {
 			this.matcher = matcher;
 			this.acoustics = acoustics;
+			this.ordinal = ordinal;
 		}
 	}
 }
\ No newline at end of file
@@ -37,9 +37,11 @@ import javax.annotation.Nullable;
 
 import org.orecruncher.dsurround.ModBase;
 import org.orecruncher.dsurround.registry.RegistryManager;
+import org.orecruncher.dsurround.registry.StateCache;
 import org.orecruncher.dsurround.registry.acoustics.AcousticRegistry;
 import org.orecruncher.dsurround.registry.acoustics.IAcoustic;
 import org.orecruncher.dsurround.registry.blockstate.BlockStateMatcher;
+import org.orecruncher.dsurround.registry.blockstate.BlockStateUtil;
 import org.orecruncher.lib.BlockNameUtil;
 import org.orecruncher.lib.BlockNameUtil.NameResult;
 
@@ -50,16 +52,25 @@ import net.minecraft.init.Blocks;
 import net.minecraft.util.Tuple;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 @SideOnly(Side.CLIENT)
 public class BlockMap {
 
+	private static final String CACHE_NAME = "acoustics";
+
 	private final AcousticRegistry acousticsManager;
 	private final BlockAcousticMap metaMap;
 	private final Map<Substrate, BlockAcousticMap> substrateMap = new EnumMap<>(Substrate.class);
 
+	// Acoustics baked by block state index. A substrate without entries has a
+	// null table. Until bake() is called the maps are used.
+	private boolean baked = false;
+	private IAcoustic[][] metaTable;
+	private IAcoustic[][][] substrateTables;
+
 	private static class MacroEntry {
 		public final String propertyName;
 		public final String propertyValue;
@@ -178,8 +189,57 @@ public class BlockMap {
 		this.metaMap = new BlockAcousticMap(bs -> RegistryManager.FOOTSTEPS.resolve(bs));
 	}
 
+	/**
+	 * Resolves the acoustics of every block state and bakes them into tables
+	 * indexed by the block state index, one for the block map and one for each
+	 * substrate that has entries. Results from a previous run are taken from the
+	 * state cache when the mods and configuration have not changed.
+	 */
+	public void bake() {
+		final int stateCount = RegistryManager.BLOCK.getBlockStateCount();
+		final Substrate[] substrates = Substrate.values();
+
+		final IAcoustic[][] table = new IAcoustic[stateCount][];
+		final IAcoustic[][][] tables = new IAcoustic[substrates.length][][];
+		for (final Substrate s : substrates)
+			if (this.substrateMap.containsKey(s))
+				tables[s.ordinal()] = new IAcoustic[stateCount][];
+
+		final StateCache cache = StateCache.load(CACHE_NAME, this.metaMap.getEntryCount());
+		for (final Block block : ForgeRegistries.BLOCKS) {
+			final List<IBlockState> states = block.getBlockState().getValidStates();
+			final int[] cached = cache.get(block, states.size());
+			if (cached != null) {
+				for (int i = 0; i < cached.length; i++)
+					this.metaMap.primeCache(states.get(i), cached[i]);
+			} else {
+				final int[] results = new int[states.size()];
+				for (int i = 0; i < results.length; i++)
+					results[i] = this.metaMap.primeCache(states.get(i));
+				cache.put(block, results);
+			}
+
+			for (final IBlockState state : states) {
+				final int idx = BlockStateUtil.getStateIndex(state);
+				if (idx < 0 || idx >= stateCount)
+					continue;
+				table[idx] = this.metaMap.getBlockAcoustics(state);
+				for (final Substrate s : substrates) {
+					final BlockAcousticMap sub = this.substrateMap.get(s);
+					if (sub != null)
+						tables[s.ordinal()][idx] = sub.cacheMiss(state);
+				}
+			}
+		}
+		cache.save();
+
+		this.metaTable = table;
+		this.substrateTables = tables;
+		this.baked = true;
+	}
+
 	public boolean hasAcoustics(@Nonnull final IBlockState state) {
-		return this.metaMap.getBlockAcoustics(state) != AcousticRegistry.EMPTY;
+		return getBlockAcoustics(state) != AcousticRegistry.EMPTY;
 	}
 
 	@Nonnull
@@ -192,6 +252,22 @@ public class BlockMap {
 		// Walking an edge of a block can produce this
 		if (state == Blocks.AIR.getDefaultState())
 			return AcousticRegistry.NOT_EMITTER;
+
+		if (this.baked) {
+			final int idx = BlockStateUtil.getStateIndex(state);
+			if (substrate != null) {
+				final IAcoustic[][] table = this.substrateTables[substrate.ordinal()];
+				if (table == null)
+					return AcousticRegistry.EMPTY;
+				if (idx >= 0 && idx < table.length)
+					return table[idx];
+			} else if (idx >= 0 && idx < this.metaTable.length) {
+				return this.metaTable[idx];
+			}
+		}
+
+		// Not baked yet, or a state that was not around when the tables were
+		// baked.
 		if (substrate != null) {
 			final BlockAcousticMap sub = this.substrateMap.get(substrate);
 			return sub != null ? sub.getBlockAcoustics(state) : AcousticRegistry.EMPTY;
@@ -271,6 +347,9 @@ public class BlockMap {
 	public void clear() {
 		this.metaMap.clear();
 		this.substrateMap.clear();
+		this.baked = false;
+		this.metaTable = null;
+		this.substrateTables = null;
 	}
 
 }
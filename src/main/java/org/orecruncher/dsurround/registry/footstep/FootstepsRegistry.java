@@ -186,9 +186,12 @@ public final class FootstepsRegistry extends Registry {
 				.collect(Collectors.toSet());
 		//@formatter:on
 
+		// Resolve the acoustics of all the block states up front and bake the
+		// lookup tables
+		getBlockMap().bake();
+
 		// Scan the block list looking for any block states that do not have sounds
-		// definitions supplied by configuration files or by primitives. This scan
-		// has the side effect of priming the caches.
+		// definitions supplied by configuration files or by primitives.
 		//@formatter:off
 		this.missingAcoustics =
 			blockStates.stream()
@@ -32,10 +32,12 @@ import org.orecruncher.dsurround.capabilities.CapabilityDimensionInfo;
 import org.orecruncher.dsurround.lib.compat.ModEnvironment;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.world.World;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.relauncher.Side;
@@ -71,6 +73,29 @@ public final class AtmosphereService extends Service {
 		this.generators.remove(dimId);
 	}
 
+	// A player arriving in a dimension needs the full weather state right away
+	// rather than waiting for the next keyframe.
+	@SubscribeEvent
+	public void onLoggedIn(@Nonnull final PlayerEvent.PlayerLoggedInEvent event) {
+		forceUpdate(event.player);
+	}
+
+	@SubscribeEvent
+	public void onDimensionChange(@Nonnull final PlayerEvent.PlayerChangedDimensionEvent event) {
+		forceUpdate(event.player);
+	}
+
+	@SubscribeEvent
+	public void onRespawn(@Nonnull final PlayerEvent.PlayerRespawnEvent event) {
+		forceUpdate(event.player);
+	}
+
+	private void forceUpdate(@Nonnull final EntityPlayer player) {
+		final World world = player.getEntityWorld();
+		if (!world.isRemote)
+			getGenerator(world).forceUpdate();
+	}
+
 	private final Int2ObjectOpenHashMap<WeatherGenerator> generators = new Int2ObjectOpenHashMap<>();
 
 	private WeatherGenerator getGenerator(@Nonnull final World world) {
@@ -24,51 +24,117 @@
 
 package org.orecruncher.dsurround.server.services;
 
-import java.util.List;
+import java.util.UUID;
 
 import javax.annotation.Nonnull;
 
+import org.orecruncher.dsurround.ModOptions;
 import org.orecruncher.dsurround.network.Network;
 import org.orecruncher.dsurround.network.PacketEnvironment;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
-import net.minecraft.util.math.BlockPos;
-import net.minecraft.village.Village;
-import net.minecraft.village.VillageCollection;
+import net.minecraft.world.World;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
 import net.minecraftforge.fml.relauncher.Side;
 
+/**
+ * Tracks the environment of each player on the server and lets the client know
+ * when it changes. Players are checked every few ticks rather than every tick,
+ * and the checks are spread across ticks based on the player entity ID. A
+ * packet is only sent when the state changes, or periodically to resync.
+ */
 public final class EnvironmentService extends Service {
 
+	private static final class PlayerState {
+		public boolean inVillage;
+		public int lastSent;
+	}
+
+	private final Object2ObjectOpenHashMap<UUID, PlayerState> players = new Object2ObjectOpenHashMap<>();
+	private final Int2ObjectOpenHashMap<VillageIndex> villages = new Int2ObjectOpenHashMap<>();
+
 	EnvironmentService() {
 		super("EnvironmentService");
 	}
 
+	@Override
+	public void fini() {
+		this.players.clear();
+		this.villages.clear();
+	}
+
+	@Nonnull
+	private VillageIndex getVillageIndex(@Nonnull final World world, final int tick) {
+		final int dim = world.provider.getDimension();
+		VillageIndex index = this.villages.get(dim);
+		if (index == null)
+			this.villages.put(dim, index = new VillageIndex());
+		index.update(world.getVillageCollection(), tick);
+		return index;
+	}
+
 	@SubscribeEvent
 	public void tickEvent(@Nonnull final TickEvent.PlayerTickEvent event) {
 		if (event.phase == Phase.END && event.side == Side.SERVER) {
 			final EntityPlayer player = event.player;
-			final VillageCollection villageCollection = player.getEntityWorld().getVillageCollection();
-			boolean inVillage = false;
-
-			if (villageCollection != null) {
-				final List<Village> villages = villageCollection.getVillageList();
-				if (villages != null && villages.size() > 0) {
-					final BlockPos pos = player.getPosition();
-					for (final Village v : villages)
-						if (v.isBlockPosWithinSqVillageRadius(pos)) {
-							inVillage = true;
-							break;
-						}
-				}
+			final int tick = FMLCommonHandler.instance().getMinecraftServerInstance().getTickCounter();
+
+			PlayerState state = this.players.get(player.getUniqueID());
+			final boolean force = state == null;
+			if (force) {
+				this.players.put(player.getUniqueID(), state = new PlayerState());
+			} else if ((tick + player.getEntityId()) % ModOptions.general.environmentCheckInterval != 0) {
+				return;
 			}
 
-			final PacketEnvironment packet = new PacketEnvironment(inVillage);
-			Network.sendToPlayer((EntityPlayerMP) player, packet);
+			final World world = player.getEntityWorld();
+			final boolean inVillage = getVillageIndex(world, tick).isInVillage(player.getPosition());
+
+			if (force || inVillage != state.inVillage
+					|| tick - state.lastSent >= ModOptions.general.environmentResyncInterval) {
+				state.inVillage = inVillage;
+				state.lastSent = tick;
+				final PacketEnvironment packet = new PacketEnvironment(inVillage);
+				Network.sendToPlayer((EntityPlayerMP) player, packet);
+			}
 		}
 	}
 
+	// The client resets its state when logging in, changing dimension, or
+	// respawning. Forgetting the player will cause a packet to be sent on the
+	// next tick.
+	@SubscribeEvent
+	public void onLoggedIn(@Nonnull final PlayerEvent.PlayerLoggedInEvent event) {
+		this.players.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public void onLoggedOut(@Nonnull final PlayerEvent.PlayerLoggedOutEvent event) {
+		this.players.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public void onDimensionChange(@Nonnull final PlayerEvent.PlayerChangedDimensionEvent event) {
+		this.players.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public void onRespawn(@Nonnull final PlayerEvent.PlayerRespawnEvent event) {
+		this.players.remove(event.player.getUniqueID());
+	}
+
+	@SubscribeEvent
+	public void onWorldUnload(@Nonnull final WorldEvent.Unload event) {
+		if (!event.getWorld().isRemote)
+			this.villages.remove(event.getWorld().provider.getDimension());
+	}
+
 }
@@ -0,0 +1,119 @@
+/* This file is part of Dynamic Surroundings, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) OreCruncher
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package org.orecruncher.dsurround.server.services;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.orecruncher.lib.collections.ObjectArray;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.village.Village;
+import net.minecraft.village.VillageCollection;
+
+/**
+ * Buckets the villages of a world by the area they cover so a position only
+ * needs to be checked against the villages that are nearby. The index is
+ * rebuilt when villages are added or removed. Villages also move and grow over
+ * time so it is refreshed periodically as well.
+ */
+final class VillageIndex {
+
+	// Cells are 64x64 blocks
+	private static final int CELL_SHIFT = 6;
+
+	// Ticks between refreshes when the village list has not changed
+	private static final int REFRESH_INTERVAL = 100;
+
+	private final Long2ObjectOpenHashMap<ObjectArray<Village>> cells = new Long2ObjectOpenHashMap<>();
+	private final ObjectArray<Village> indexed = new ObjectArray<>();
+	private int lastBuild = Integer.MIN_VALUE;
+
+	/**
+	 * Rebuilds the index from the village collection if the village list has
+	 * changed, or if the refresh interval has elapsed since the last build.
+	 */
+	public void update(@Nullable final VillageCollection collection, final int tick) {
+		final List<Village> villages = collection != null ? collection.getVillageList() : null;
+		if (tick - this.lastBuild < REFRESH_INTERVAL && !hasChanged(villages))
+			return;
+
+		this.lastBuild = tick;
+		this.cells.clear();
+		this.indexed.clear();
+
+		if (villages == null)
+			return;
+
+		for (final Village v : villages) {
+			this.indexed.add(v);
+			final BlockPos center = v.getCenter();
+			final int radius = v.getVillageRadius();
+			final int minX = (center.getX() - radius) >> CELL_SHIFT;
+			final int maxX = (center.getX() + radius) >> CELL_SHIFT;
+			final int minZ = (center.getZ() - radius) >> CELL_SHIFT;
+			final int maxZ = (center.getZ() + radius) >> CELL_SHIFT;
+			for (int x = minX; x <= maxX; x++)
+				for (int z = minZ; z <= maxZ; z++) {
+					final long key = ChunkPos.asLong(x, z);
+					ObjectArray<Village> cell = this.cells.get(key);
+					if (cell == null)
+						this.cells.put(key, cell = new ObjectArray<>(2));
+					cell.add(v);
+				}
+		}
+	}
+
+	/**
+	 * Indicates if the position is within the radius of one of the indexed
+	 * villages.
+	 */
+	public boolean isInVillage(@Nonnull final BlockPos pos) {
+		if (this.cells.isEmpty())
+			return false;
+		final ObjectArray<Village> cell = this.cells
+				.get(ChunkPos.asLong(pos.getX() >> CELL_SHIFT, pos.getZ() >> CELL_SHIFT));
+		if (cell != null)
+			for (int i = 0; i < cell.size(); i++)
+				if (cell.get(i).isBlockPosWithinSqVillageRadius(pos))
+					return true;
+		return false;
+	}
+
+	private boolean hasChanged(@Nullable final List<Village> villages) {
+		if (villages == null)
+			return !this.indexed.isEmpty();
+		if (villages.size() != this.indexed.size())
+			return true;
+		for (int i = 0; i < villages.size(); i++)
+			if (villages.get(i) != this.indexed.get(i))
+				return true;
+		return false;
+	}
+}
@@ -45,10 +45,30 @@ import net.minecraft.world.storage.WorldInfo;
 
 public class WeatherGenerator {
 
+	// Number of ticks between updates when nothing has changed. Clients count
+	// the timers down on their own in between.
+	protected static final int KEYFRAME_INTERVAL = 100;
+	// Change in rain intensity or thunder strength needed to send an update
+	protected static final float STRENGTH_THRESHOLD = 0.02F;
+	// How far a timer can drift from the client's count down before an update
+	// is sent
+	protected static final int TIMER_THRESHOLD = 20;
+
 	protected final Random RANDOM = XorShiftRandom.current();
 	protected final World world;
 	protected final IDimensionInfoEx data;
 
+	// What was last sent to the dimension
+	protected int ticks;
+	protected int lastSend;
+	protected boolean forceSend;
+	protected float lastIntensity;
+	protected float lastMaxIntensity;
+	protected int lastRainTime;
+	protected float lastThunderStrength;
+	protected int lastThunderTime;
+	protected int lastThunderEvent;
+
 	public WeatherGenerator(@Nonnull final World world) {
 		this.world = world;
 		this.data = (IDimensionInfoEx) CapabilityDimensionInfo.getCapability(world);
@@ -153,6 +173,15 @@ public class WeatherGenerator {
 		// execute.
 	}
 
+	/**
+	 * Causes the full weather state to be sent to the dimension on the next
+	 * update regardless of whether anything has changed. Used when a player
+	 * arrives in the dimension and needs the state right away.
+	 */
+	public final void forceUpdate() {
+		this.forceSend = true;
+	}
+
 	public final void update() {
 		process();
 		sendUpdate();
@@ -165,12 +194,53 @@ public class WeatherGenerator {
 		postProcess();
 	}
 
+	private static boolean strengthChanged(final float current, final float last) {
+		// Starting and stopping always counts
+		return (current == 0F) != (last == 0F) || Math.abs(current - last) >= STRENGTH_THRESHOLD;
+	}
+
+	private static boolean timerChanged(final int current, final int last, final int elapsed) {
+		return Math.abs(current - Math.max(last - elapsed, 0)) > TIMER_THRESHOLD;
+	}
+
 	protected void sendUpdate() {
-		// Send the weather update to all players in the dimension.
-		if (this.world.playerEntities.size() > 0) {
-			final PacketWeatherUpdate packet = new PacketWeatherUpdate(this.data.getId(),
-					this.data.getCurrentRainIntensity(), this.data.getRainIntensity(), worldInfo().getRainTime(),
-					this.world.getThunderStrength(1.0F), worldInfo().getThunderTime(), this.data.getThunderTimer());
+		this.ticks++;
+
+		if (this.world.playerEntities.isEmpty())
+			return;
+
+		final float intensity = this.data.getCurrentRainIntensity();
+		final float maxIntensity = this.data.getRainIntensity();
+		final int rainTime = worldInfo().getRainTime();
+		final float thunderStrength = this.world.getThunderStrength(1.0F);
+		final int thunderTime = worldInfo().getThunderTime();
+		final int thunderEvent = this.data.getThunderTimer();
+		final int elapsed = this.ticks - this.lastSend;
+
+		//@formatter:off
+		final boolean send = this.forceSend
+				|| elapsed >= KEYFRAME_INTERVAL
+				|| maxIntensity != this.lastMaxIntensity
+				|| strengthChanged(intensity, this.lastIntensity)
+				|| strengthChanged(thunderStrength, this.lastThunderStrength)
+				|| timerChanged(rainTime, this.lastRainTime, elapsed)
+				|| timerChanged(thunderTime, this.lastThunderTime, elapsed)
+				|| timerChanged(thunderEvent, this.lastThunderEvent, elapsed);
+		//@formatter:on
+
+		if (send) {
+			this.forceSend = false;
+			this.lastSend = this.ticks;
+			this.lastIntensity = intensity;
+			this.lastMaxIntensity = maxIntensity;
+			this.lastRainTime = rainTime;
+			this.lastThunderStrength = thunderStrength;
+			this.lastThunderTime = thunderTime;
+			this.lastThunderEvent = thunderEvent;
+
+			// Send the weather update to all players in the dimension.
+			final PacketWeatherUpdate packet = new PacketWeatherUpdate(this.data.getId(), intensity, maxIntensity,
+					rainTime, thunderStrength, thunderTime, thunderEvent);
 			Network.sendToDimension(this.data.getId(), packet);
 		}
 	}